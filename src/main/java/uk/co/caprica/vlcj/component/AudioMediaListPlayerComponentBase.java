@@ -37,6 +37,10 @@ abstract class AudioMediaListPlayerComponentBase extends AudioMediaPlayerCompone
     public void mediaListItemAdded(MediaList mediaList, libvlc_media_t mediaInstance, int index) {
     }
 
+    @Override
+    public void mediaListItemsAdded(MediaList mediaList, int index, int count) {
+    }
+
     @Override
     public void mediaListWillDeleteItem(MediaList mediaList, libvlc_media_t mediaInstance, int index) {
     }
@@ -21,6 +21,7 @@ package uk.co.caprica.vlcj.component;
 
 import uk.co.caprica.vlcj.player.base.MediaPlayer;
 import uk.co.caprica.vlcj.factory.MediaPlayerFactory;
+import uk.co.caprica.vlcj.factory.MediaPlayerFactoryRegistry;
 
 /**
  * Encapsulation of an audio player.
@@ -109,7 +110,7 @@ public class AudioMediaPlayerComponent extends AudioMediaPlayerComponentBase imp
 
     private MediaPlayerFactory initMediaPlayerFactory(MediaPlayerFactory mediaPlayerFactory) {
         if (mediaPlayerFactory == null) {
-            mediaPlayerFactory = new MediaPlayerFactory(DEFAULT_FACTORY_ARGUMENTS);
+            mediaPlayerFactory = MediaPlayerFactoryRegistry.acquire(DEFAULT_FACTORY_ARGUMENTS);
         }
         return mediaPlayerFactory;
     }
@@ -128,8 +129,11 @@ public class AudioMediaPlayerComponent extends AudioMediaPlayerComponentBase imp
     /**
      * Release the media player component and the associated native media player resources.
      * <p>
-     * The associated media player factory will <em>not</em> be released, the client
-     * application is responsible for releasing the factory at the appropriate time.
+     * A media player factory supplied by the client application will <em>not</em> be released, the
+     * client application is responsible for releasing the factory at the appropriate time.
+     * <p>
+     * If no factory was supplied, this component uses a shared factory from the
+     * {@link MediaPlayerFactoryRegistry} which is released when no other component is using it.
      */
     public final void release() {
         onBeforeRelease();
@@ -137,7 +141,7 @@ public class AudioMediaPlayerComponent extends AudioMediaPlayerComponentBase imp
         mediaPlayer.release();
 
         if (ownFactory) {
-            mediaPlayerFactory.release();
+            MediaPlayerFactoryRegistry.release(mediaPlayerFactory);
         }
 
         onAfterRelease();
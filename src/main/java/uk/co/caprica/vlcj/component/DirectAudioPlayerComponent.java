@@ -20,6 +20,7 @@
 package uk.co.caprica.vlcj.component;
 
 import uk.co.caprica.vlcj.factory.MediaPlayerFactory;
+import uk.co.caprica.vlcj.factory.MediaPlayerFactoryRegistry;
 import uk.co.caprica.vlcj.player.directaudio.AudioCallback;
 import uk.co.caprica.vlcj.player.directaudio.DirectAudioPlayer;
 
@@ -77,7 +78,7 @@ public class DirectAudioPlayerComponent extends DirectAudioPlayerComponentBase i
 
     private MediaPlayerFactory initMediaPlayerFactory(MediaPlayerFactory mediaPlayerFactory) {
         if (mediaPlayerFactory == null) {
-            mediaPlayerFactory = new MediaPlayerFactory(DEFAULT_FACTORY_ARGUMENTS);
+            mediaPlayerFactory = MediaPlayerFactoryRegistry.acquire(DEFAULT_FACTORY_ARGUMENTS);
         }
         return mediaPlayerFactory;
     }
@@ -96,8 +97,11 @@ public class DirectAudioPlayerComponent extends DirectAudioPlayerComponentBase i
     /**
      * Release the media player component and the associated native media player resources.
      * <p>
-     * The associated media player factory will <em>not</em> be released, the client
-     * application is responsible for releasing the factory at the appropriate time.
+     * A media player factory supplied by the client application will <em>not</em> be released, the
+     * client application is responsible for releasing the factory at the appropriate time.
+     * <p>
+     * If no factory was supplied, this component uses a shared factory from the
+     * {@link MediaPlayerFactoryRegistry} which is released when no other component is using it.
      */
     public final void release() {
         onBeforeRelease();
@@ -105,7 +109,7 @@ public class DirectAudioPlayerComponent extends DirectAudioPlayerComponentBase i
         mediaPlayer.release();
 
         if (ownFactory) {
-            mediaPlayerFactory.release();
+            MediaPlayerFactoryRegistry.release(mediaPlayerFactory);
         }
 
         onAfterRelease();
@@ -20,6 +20,7 @@
 package uk.co.caprica.vlcj.component;
 
 import uk.co.caprica.vlcj.factory.MediaPlayerFactory;
+import uk.co.caprica.vlcj.factory.MediaPlayerFactoryRegistry;
 import uk.co.caprica.vlcj.player.direct.BufferFormat;
 import uk.co.caprica.vlcj.player.direct.BufferFormatCallback;
 import uk.co.caprica.vlcj.player.direct.DirectMediaPlayer;
@@ -110,7 +111,7 @@ public class DirectMediaPlayerComponent extends DirectMediaPlayerComponentBase {
 
     private MediaPlayerFactory initMediaPlayerFactory(MediaPlayerFactory mediaPlayerFactory) {
         if (mediaPlayerFactory == null) {
-            mediaPlayerFactory = new MediaPlayerFactory(DEFAULT_FACTORY_ARGUMENTS);
+            mediaPlayerFactory = MediaPlayerFactoryRegistry.acquire(DEFAULT_FACTORY_ARGUMENTS);
         }
         return mediaPlayerFactory;
     }
@@ -138,8 +139,11 @@ public class DirectMediaPlayerComponent extends DirectMediaPlayerComponentBase {
     /**
      * Release the media player component and the associated native media player resources.
      * <p>
-     * The associated media player factory will <em>not</em> be released, the client
-     * application is responsible for releasing the factory at the appropriate time.
+     * A media player factory supplied by the client application will <em>not</em> be released, the
+     * client application is responsible for releasing the factory at the appropriate time.
+     * <p>
+     * If no factory was supplied, this component uses a shared factory from the
+     * {@link MediaPlayerFactoryRegistry} which is released when no other component is using it.
      */
     public final void release() {
         onBeforeRelease();
@@ -147,7 +151,7 @@ public class DirectMediaPlayerComponent extends DirectMediaPlayerComponentBase {
         mediaPlayer.release();
 
         if (ownFactory) {
-            mediaPlayerFactory.release();
+            MediaPlayerFactoryRegistry.release(mediaPlayerFactory);
         }
 
         onAfterRelease();
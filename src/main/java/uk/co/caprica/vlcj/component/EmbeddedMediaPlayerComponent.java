@@ -26,6 +26,7 @@ import javax.swing.JFrame;
 import javax.swing.JPanel;
 
 import uk.co.caprica.vlcj.factory.MediaPlayerFactory;
+import uk.co.caprica.vlcj.factory.MediaPlayerFactoryRegistry;
 import uk.co.caprica.vlcj.player.embedded.EmbeddedMediaPlayer;
 import uk.co.caprica.vlcj.player.embedded.FullScreenStrategy;
 import uk.co.caprica.vlcj.runtime.RuntimeUtil;
@@ -187,7 +188,7 @@ public class EmbeddedMediaPlayerComponent extends EmbeddedMediaPlayerComponentBa
 
     private MediaPlayerFactory initMediaPlayerFactory(MediaPlayerFactory mediaPlayerFactory) {
         if (mediaPlayerFactory == null) {
-            mediaPlayerFactory = new MediaPlayerFactory(DEFAULT_FACTORY_ARGUMENTS);
+            mediaPlayerFactory = MediaPlayerFactoryRegistry.acquire(DEFAULT_FACTORY_ARGUMENTS);
         }
         return mediaPlayerFactory;
     }
@@ -260,8 +261,11 @@ public class EmbeddedMediaPlayerComponent extends EmbeddedMediaPlayerComponentBa
     /**
      * Release the media player component and the associated native media player resources.
      * <p>
-     * The associated media player factory will <em>not</em> be released, the client
-     * application is responsible for releasing the factory at the appropriate time.
+     * A media player factory supplied by the client application will <em>not</em> be released, the
+     * client application is responsible for releasing the factory at the appropriate time.
+     * <p>
+     * If no factory was supplied, this component uses a shared factory from the
+     * {@link MediaPlayerFactoryRegistry} which is released when no other component is using it.
      */
     public final void release() {
         onBeforeRelease();
@@ -276,7 +280,7 @@ public class EmbeddedMediaPlayerComponent extends EmbeddedMediaPlayerComponentBa
         mediaPlayer.release();
 
         if (ownFactory) {
-            mediaPlayerFactory.release();
+            MediaPlayerFactoryRegistry.release(mediaPlayerFactory);
         }
 
         onAfterRelease();
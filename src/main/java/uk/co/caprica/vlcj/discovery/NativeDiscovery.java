@@ -75,20 +75,43 @@ public class NativeDiscovery {
      */
     private final NativeDiscoveryStrategy[] discoveryStrategies;
 
+    /**
+     * Cache of the previous discovery result, may be <code>null</code>.
+     */
+    private final NativeDiscoveryCache cache;
+
+    /**
+     * Create a discovery component with bespoke strategies and an optional cache.
+     *
+     * @param cache discovery result cache, may be <code>null</code>
+     * @param discoveryStrategies strategy implementations
+     */
+    public NativeDiscovery(NativeDiscoveryCache cache, NativeDiscoveryStrategy... discoveryStrategies) {
+        this.cache = cache;
+        this.discoveryStrategies = discoveryStrategies;
+    }
+
     /**
      * Create a discovery component with bespoke strategies.
+     * <p>
+     * The discovery result is cached if the {@link NativeDiscoveryCache#CACHE_SYSTEM_PROPERTY_NAME}
+     * system property is set.
      *
      * @param discoveryStrategies strategy implementations
      */
     public NativeDiscovery(NativeDiscoveryStrategy... discoveryStrategies) {
-        this.discoveryStrategies = discoveryStrategies;
+        this(NativeDiscoveryCache.fromSystemProperty(), discoveryStrategies);
     }
 
     /**
      * Create a discovery component with the default platform strategies.
+     * <p>
+     * The discovery result is cached if the {@link NativeDiscoveryCache#CACHE_SYSTEM_PROPERTY_NAME}
+     * system property is set.
      */
     public NativeDiscovery() {
         this(
+            NativeDiscoveryCache.fromSystemProperty(),
             new DefaultLinuxNativeDiscoveryStrategy(),
             new DefaultWindowsNativeDiscoveryStrategy(),
             new DefaultMacNativeDiscoveryStrategy()
@@ -110,6 +133,10 @@ public class NativeDiscovery {
         logger.debug("jnaLibraryPath={}", jnaLibraryPath);
         // JNA system property not set...
         if(jnaLibraryPath == null) {
+            // Try the cached result first...
+            if(cache != null && discoverCached()) {
+                return true;
+            }
             // Try each strategy in turn...
             for(NativeDiscoveryStrategy discoveryStrategy : discoveryStrategies) {
                 logger.debug("discoveryStrategy={}", discoveryStrategy);
@@ -125,6 +152,9 @@ public class NativeDiscovery {
                         NativeLibrary.addSearchPath(RuntimeUtil.getLibVlcLibraryName(), path);
                         // Chance for post processing
                         discoveryStrategy.onFound(path);
+                        if(cache != null) {
+                            cache.store(path, discoveryStrategy);
+                        }
                         return true;
                     }
                 }
@@ -137,4 +167,35 @@ public class NativeDiscovery {
         return false;
     }
 
+    /**
+     * Get the discovery result cache.
+     *
+     * @return cache, or <code>null</code> if results are not cached
+     */
+    public final NativeDiscoveryCache cache() {
+        return cache;
+    }
+
+    /**
+     * Attempt to use the cached discovery result.
+     *
+     * @return <code>true</code> if the cached result was valid and used; otherwise <code>false</code>
+     */
+    private boolean discoverCached() {
+        String[] cached = cache.lookup();
+        if(cached != null) {
+            String path = cached[0];
+            for(NativeDiscoveryStrategy discoveryStrategy : discoveryStrategies) {
+                if(discoveryStrategy.getClass().getName().equals(cached[1]) && discoveryStrategy.supported()) {
+                    logger.info("Discovery found libvlc at '{}' (cached)", path);
+                    NativeLibrary.addSearchPath(RuntimeUtil.getLibVlcLibraryName(), path);
+                    discoveryStrategy.onFound(path);
+                    return true;
+                }
+            }
+        }
+        logger.debug("No valid cached discovery result");
+        return false;
+    }
+
 }
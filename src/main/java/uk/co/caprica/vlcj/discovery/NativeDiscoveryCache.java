@@ -0,0 +1,216 @@
+/*
+ * This file is part of VLCJ.
+ *
+ * VLCJ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * VLCJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with VLCJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2019 Caprica Software Limited.
+ */
+
+package uk.co.caprica.vlcj.discovery;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Properties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.co.caprica.vlcj.runtime.RuntimeUtil;
+
+/**
+ * Cache of the result of a previous native library discovery.
+ * <p>
+ * Scanning the file system for the native library on every start-up can be relatively slow, so the
+ * directory that was found and the strategy that found it are saved in a small properties file,
+ * together with the size and modification time of the native library file.
+ * <p>
+ * On the next start-up the cached result is used if the native library file is still present with
+ * the same size and modification time - this is a single file system check. Otherwise the cache is
+ * ignored and a full discovery is performed (and the cache updated).
+ * <p>
+ * The cache is enabled for the default {@link NativeDiscovery} by setting the system property
+ * "vlcj.discovery.cache" to the name of the cache file.
+ */
+public final class NativeDiscoveryCache {
+
+    /**
+     * Name of the system property used to configure the cache file.
+     */
+    public static final String CACHE_SYSTEM_PROPERTY_NAME = "vlcj.discovery.cache";
+
+    private static final String PATH_KEY = "path";
+
+    private static final String STRATEGY_KEY = "strategy";
+
+    private static final String LIBRARY_KEY = "library";
+
+    private static final String LENGTH_KEY = "length";
+
+    private static final String MODIFIED_KEY = "modified";
+
+    /**
+     * Log.
+     */
+    private final Logger logger = LoggerFactory.getLogger(NativeDiscoveryCache.class);
+
+    /**
+     * Cache file.
+     */
+    private final File file;
+
+    /**
+     * Create a discovery cache.
+     *
+     * @param file cache file
+     */
+    public NativeDiscoveryCache(File file) {
+        this.file = file;
+    }
+
+    /**
+     * Create a discovery cache configured by system property.
+     *
+     * @return cache, or <code>null</code> if the system property is not set
+     */
+    public static NativeDiscoveryCache fromSystemProperty() {
+        String fileName = System.getProperty(CACHE_SYSTEM_PROPERTY_NAME);
+        return fileName != null ? new NativeDiscoveryCache(new File(fileName)) : null;
+    }
+
+    /**
+     * Get the cache file.
+     *
+     * @return file
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Get the cached discovery result, if it is still valid.
+     *
+     * @return two element array of directory name and strategy class name, or <code>null</code> if there is no valid cached result
+     */
+    String[] lookup() {
+        Properties properties = load();
+        if (properties == null) {
+            return null;
+        }
+        String path = properties.getProperty(PATH_KEY);
+        String strategy = properties.getProperty(STRATEGY_KEY);
+        String library = properties.getProperty(LIBRARY_KEY);
+        if (path == null || strategy == null || library == null) {
+            return null;
+        }
+        File libraryFile = new File(path, library);
+        if (!String.valueOf(libraryFile.length()).equals(properties.getProperty(LENGTH_KEY)) ||
+            !String.valueOf(libraryFile.lastModified()).equals(properties.getProperty(MODIFIED_KEY))) {
+            logger.debug("Cached native library '{}' has changed", libraryFile);
+            return null;
+        }
+        return new String[] {path, strategy};
+    }
+
+    /**
+     * Save a discovery result.
+     *
+     * @param path directory containing the native library
+     * @param strategy strategy that found the native library
+     */
+    void store(String path, NativeDiscoveryStrategy strategy) {
+        File libraryFile = findLibrary(path);
+        if (libraryFile == null) {
+            logger.debug("Not caching discovery result, native library file not found in '{}'", path);
+            return;
+        }
+        Properties properties = new Properties();
+        properties.setProperty(PATH_KEY, path);
+        properties.setProperty(STRATEGY_KEY, strategy.getClass().getName());
+        properties.setProperty(LIBRARY_KEY, libraryFile.getName());
+        properties.setProperty(LENGTH_KEY, String.valueOf(libraryFile.length()));
+        properties.setProperty(MODIFIED_KEY, String.valueOf(libraryFile.lastModified()));
+        save(properties);
+    }
+
+    /**
+     * Remove the cache file.
+     */
+    public void clear() {
+        if (file.exists() && !file.delete()) {
+            logger.warn("Failed to delete discovery cache '{}'", file);
+        }
+    }
+
+    private File findLibrary(String path) {
+        String libraryName = System.mapLibraryName(RuntimeUtil.getLibVlcLibraryName());
+        File exact = new File(path, libraryName);
+        if (exact.isFile()) {
+            return exact;
+        }
+        // e.g. on Linux there may only be a versioned library like "libvlc.so.5"
+        File[] files = new File(path).listFiles();
+        if (files != null) {
+            for (File candidate : files) {
+                if (candidate.isFile() && candidate.getName().startsWith(libraryName)) {
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+
+    private Properties load() {
+        if (!file.isFile()) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try {
+            InputStream in = new FileInputStream(file);
+            try {
+                properties.load(in);
+            }
+            finally {
+                in.close();
+            }
+            return properties;
+        }
+        catch (IOException e) {
+            logger.warn("Failed to read discovery cache '{}'", file, e);
+            return null;
+        }
+    }
+
+    private void save(Properties properties) {
+        try {
+            File dir = file.getAbsoluteFile().getParentFile();
+            if (dir != null && !dir.exists()) {
+                dir.mkdirs();
+            }
+            OutputStream out = new FileOutputStream(file);
+            try {
+                properties.store(out, "vlcj native discovery cache");
+            }
+            finally {
+                out.close();
+            }
+        }
+        catch (IOException e) {
+            logger.warn("Failed to write discovery cache '{}'", file, e);
+        }
+    }
+}
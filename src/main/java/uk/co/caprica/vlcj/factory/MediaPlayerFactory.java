@@ -26,10 +26,12 @@ import uk.co.caprica.vlcj.binding.LibVlc;
 import uk.co.caprica.vlcj.binding.internal.libvlc_instance_t;
 import uk.co.caprica.vlcj.discovery.NativeDiscovery;
 import uk.co.caprica.vlcj.player.base.MediaPlayer;
+import uk.co.caprica.vlcj.player.executor.Reaper;
 import uk.co.caprica.vlcj.runtime.RuntimeUtil;
 import uk.co.caprica.vlcj.version.LibVlcVersion;
 
 import java.util.Collection;
+import java.util.concurrent.Future;
 
 /**
  * Factory for creating media player instances and associated components.
@@ -238,6 +240,25 @@ public class MediaPlayerFactory {
         libvlc.libvlc_release(this.libvlcInstance);
     }
 
+    /**
+     * Release all native resources associated with this factory in the background.
+     * <p>
+     * The factory must not be used again after this method is invoked.
+     * <p>
+     * Media players created by this factory keep their own reference to the native instance, so it is safe to invoke
+     * this method while those media players are still being released.
+     *
+     * @return future that completes when the native resources have been freed
+     */
+    public final Future<Void> releaseAsync() {
+        return Reaper.submit(new Runnable() {
+            @Override
+            public void run() {
+                release();
+            }
+        });
+    }
+
     protected final LibVlc libvlc() {
         return libvlc;
     }
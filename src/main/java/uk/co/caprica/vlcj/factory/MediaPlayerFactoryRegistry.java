@@ -0,0 +1,202 @@
+/*
+ * This file is part of VLCJ.
+ *
+ * VLCJ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * VLCJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with VLCJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2019 Caprica Software Limited.
+ */
+
+package uk.co.caprica.vlcj.factory;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Process-wide registry of shared, reference-counted, media player factories.
+ * <p>
+ * Creating a {@link MediaPlayerFactory} creates a new native library instance, which loads all of the
+ * native plugins - this is slow and uses a lot of native memory. Applications with many components
+ * that use the same native library arguments can instead share a single factory.
+ * <p>
+ * Factories are keyed by their native library arguments (in order). Each call to
+ * {@link #acquire(String...)} must be balanced by a call to {@link #release(MediaPlayerFactory)},
+ * when the last user releases a factory the native instance is released.
+ * <p>
+ * A shared factory must <em>not</em> be released directly by invoking {@link MediaPlayerFactory#release()}.
+ */
+public final class MediaPlayerFactoryRegistry {
+
+    /**
+     * Shared factories, keyed by their arguments.
+     */
+    private static final Map<List<String>, Entry> entriesByArgs = new HashMap<List<String>, Entry>();
+
+    /**
+     * Shared factories, keyed by the factory instance.
+     */
+    private static final Map<MediaPlayerFactory, Entry> entriesByFactory = new IdentityHashMap<MediaPlayerFactory, Entry>();
+
+    private MediaPlayerFactoryRegistry() {
+    }
+
+    /**
+     * Acquire a shared media player factory, creating it if necessary.
+     * <p>
+     * Creating a factory can take a long time, so it is not done while the registry is locked - a caller creating a
+     * factory does not block callers acquiring or releasing factories for other arguments. Callers that request the
+     * same arguments while the factory is being created wait for it.
+     *
+     * @param libvlcArgs array of options/arguments to pass to LibVLC for initialisation of the native library
+     * @return shared factory
+     * @throws RuntimeException if the factory could not be created
+     */
+    public static MediaPlayerFactory acquire(String... libvlcArgs) {
+        final String[] args = libvlcArgs != null ? libvlcArgs.clone() : new String[0];
+        List<String> key = Arrays.asList(args);
+        Entry entry;
+        boolean create;
+        synchronized (MediaPlayerFactoryRegistry.class) {
+            entry = entriesByArgs.get(key);
+            create = entry == null;
+            if (create) {
+                entry = new Entry(key, new FutureTask<MediaPlayerFactory>(new Callable<MediaPlayerFactory>() {
+                    @Override
+                    public MediaPlayerFactory call() {
+                        return new MediaPlayerFactory(args);
+                    }
+                }));
+                entriesByArgs.put(key, entry);
+            }
+            entry.references++;
+        }
+        if (create) {
+            entry.factory.run();
+        }
+        MediaPlayerFactory factory;
+        try {
+            factory = awaitFactory(entry);
+        }
+        catch (RuntimeException e) {
+            synchronized (MediaPlayerFactoryRegistry.class) {
+                // Only the first failed caller finds the placeholder still registered
+                if (entriesByArgs.get(key) == entry) {
+                    entriesByArgs.remove(key);
+                }
+            }
+            throw e;
+        }
+        synchronized (MediaPlayerFactoryRegistry.class) {
+            entriesByFactory.put(factory, entry);
+        }
+        return factory;
+    }
+
+    /**
+     * Wait, uninterruptibly, for a factory to be created.
+     *
+     * @param entry registry entry
+     * @return factory
+     * @throws RuntimeException if the factory could not be created
+     */
+    private static MediaPlayerFactory awaitFactory(Entry entry) {
+        boolean interrupted = false;
+        try {
+            for (;;) {
+                try {
+                    return entry.factory.get();
+                }
+                catch (InterruptedException e) {
+                    interrupted = true;
+                }
+                catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    }
+                    if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    throw new RuntimeException("Failed to create media player factory", cause);
+                }
+            }
+        }
+        finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Release a shared media player factory.
+     * <p>
+     * The native resources are released when the last user of the factory releases it.
+     *
+     * @param factory factory previously returned by {@link #acquire(String...)}
+     * @return <code>true</code> if the factory was actually released; <code>false</code> if it is still in use
+     * @throws IllegalArgumentException if the factory was not acquired from this registry
+     */
+    public static boolean release(MediaPlayerFactory factory) {
+        synchronized (MediaPlayerFactoryRegistry.class) {
+            Entry entry = entriesByFactory.get(factory);
+            if (entry == null) {
+                throw new IllegalArgumentException("Factory was not acquired from the registry");
+            }
+            if (--entry.references > 0) {
+                return false;
+            }
+            entriesByArgs.remove(entry.key);
+            entriesByFactory.remove(factory);
+        }
+        // Releasing the native instance can take a long time, it must not block the registry for everyone else
+        factory.release();
+        return true;
+    }
+
+    /**
+     * Check whether a factory is managed by this registry.
+     *
+     * @param factory factory
+     * @return <code>true</code> if the factory is shared; <code>false</code> otherwise
+     */
+    public static synchronized boolean isShared(MediaPlayerFactory factory) {
+        return entriesByFactory.containsKey(factory);
+    }
+
+    /**
+     * A shared factory and its reference count.
+     * <p>
+     * The entry is registered by its arguments before the factory is created, and by its factory once the factory has
+     * been created.
+     */
+    private static final class Entry {
+
+        private final List<String> key;
+
+        private final FutureTask<MediaPlayerFactory> factory;
+
+        private int references;
+
+        private Entry(List<String> key, FutureTask<MediaPlayerFactory> factory) {
+            this.key = key;
+            this.factory = factory;
+        }
+    }
+}
@@ -66,7 +66,7 @@ public final class MediaService extends BaseService {
     public MediaList newMediaList() {
         libvlc_media_list_t mediaList = libvlc.libvlc_media_list_new(instance);
         if (mediaList != null) {
-            return new MediaList(libvlc, mediaList);
+            return new MediaList(libvlc, instance, mediaList);
         } else {
             return null;
         }
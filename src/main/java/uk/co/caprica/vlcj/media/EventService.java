@@ -25,12 +25,21 @@ public class EventService extends BaseService {
      */
     private final List<MediaEventListener> eventListenerList = new CopyOnWriteArrayList<MediaEventListener>();
 
-    private final MediaEventCallback callback = new MediaEventCallback();
+    /**
+     * Native event callback, created when the first listener is added.
+     * <p>
+     * Most media instances never have any listeners, so the native event callbacks are only registered when they are
+     * actually needed.
+     */
+    private MediaEventCallback callback;
+
+    /**
+     * Flag whether or not this service has been released.
+     */
+    private boolean released;
 
     EventService(Media media) {
         super(media);
-
-        registerNativeEventListener();
     }
 
     /**
@@ -40,6 +49,7 @@ public class EventService extends BaseService {
      */
     public void addMediaEventListener(MediaEventListener listener) {
         eventListenerList.add(listener);
+        registerNativeEventListener();
     }
 
     /**
@@ -52,9 +62,13 @@ public class EventService extends BaseService {
     }
 
     /**
-     * Register a call-back to receive media native events.
+     * Register a call-back to receive media native events, if it has not been registered already.
      */
-    private void registerNativeEventListener() {
+    private synchronized void registerNativeEventListener() {
+        if (callback != null || released) {
+            return;
+        }
+        callback = new MediaEventCallback();
         libvlc_event_manager_t mediaEventManager = libvlc.libvlc_media_event_manager(mediaInstance);
         for (libvlc_event_e event : libvlc_event_e.values()) {
             if (event.intValue() >= libvlc_event_e.libvlc_MediaMetaChanged.intValue() && event.intValue() <= libvlc_event_e.libvlc_MediaThumbnailGenerated.intValue()) {
@@ -64,9 +78,13 @@ public class EventService extends BaseService {
     }
 
     /**
-     * De-register the call-back used to receive native media events.
+     * De-register the call-back used to receive native media events, if it was ever registered.
      */
-    private void deregisterNativeEventListener() {
+    private synchronized void deregisterNativeEventListener() {
+        released = true;
+        if (callback == null) {
+            return;
+        }
         libvlc_event_manager_t mediaEventManager = libvlc.libvlc_media_event_manager(mediaInstance);
         for (libvlc_event_e event : libvlc_event_e.values()) {
             if (event.intValue() >= libvlc_event_e.libvlc_MediaMetaChanged.intValue() && event.intValue() <= libvlc_event_e.libvlc_MediaThumbnailGenerated.intValue()) {
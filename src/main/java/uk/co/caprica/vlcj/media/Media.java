@@ -3,6 +3,8 @@ package uk.co.caprica.vlcj.media;
 import uk.co.caprica.vlcj.binding.LibVlc;
 import uk.co.caprica.vlcj.binding.internal.libvlc_media_t;
 
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
 /**
  * Encapsulation of a native media instance.
  */
@@ -19,16 +21,45 @@ public final class Media {
     protected final libvlc_media_t mediaInstance;
 
     /**
-     *
+     * Lock used when creating services on demand.
      */
-    private final EventService    eventService;
-    private final InfoService     infoService;
-    private final MetaService     metaService;
-    private final OptionsService  optionsService;
-    private final ParseService    parseService;
-    private final SlaveService    slaveService;
-    private final SubitemService  subitemService;
-    private final UserDataService userDataService;
+    private final Object serviceLock = new Object();
+
+    /**
+     * Flag whether or not the services have been released, after which no more services may be created.
+     * <p>
+     * Guarded by {@link #serviceLock}.
+     */
+    private boolean servicesReleased;
+
+    /**
+     * Identifiers for the services, each is an index into {@link #services}.
+     */
+    private static final int EVENTS    = 0;
+    private static final int INFO      = 1;
+    private static final int META      = 2;
+    private static final int OPTIONS   = 3;
+    private static final int PARSING   = 4;
+    private static final int SLAVES    = 5;
+    private static final int SUBITEMS  = 6;
+    private static final int USER_DATA = 7;
+
+    private static final int SERVICE_COUNT = 8;
+
+    /**
+     * Services are created on first access, many media instances (e.g. those obtained while walking a media list) never
+     * use most of them.
+     * <p>
+     * See {@link #service(int)}.
+     */
+    private final AtomicReferenceArray<BaseService> services = new AtomicReferenceArray<BaseService>(SERVICE_COUNT);
+
+    /**
+     * Number of outstanding references to this component, guarded by the {@link MediaCache} lock.
+     * <p>
+     * See {@link #wrap(LibVlc, libvlc_media_t)}.
+     */
+    int references = 1;
 
     /**
      * Create a new media item.
@@ -37,6 +68,8 @@ public final class Media {
      * {@link #release()}.
      * <p>
      * The caller should <em>not</em> release the native media instance.
+     * <p>
+     * The new component becomes the canonical component for the native media instance, if there is not one already.
      *
      * @param libvlc native library
      * @param media native media instance
@@ -45,63 +78,153 @@ public final class Media {
         this.libvlc        = libvlc;
         this.mediaInstance = media;
 
-        this.eventService    = new EventService   (this);
-        this.infoService     = new InfoService    (this);
-        this.metaService     = new MetaService    (this);
-        this.optionsService  = new OptionsService (this);
-        this.parseService    = new ParseService   (this);
-        this.slaveService    = new SlaveService   (this);
-        this.subitemService  = new SubitemService (this);
-        this.userDataService = new UserDataService(this);
+        MediaCache.register(this);
+    }
+
+    /**
+     * Get the canonical media component for a native media instance.
+     * <p>
+     * If there is already a media component for the native media instance that has not been released, that same
+     * component is returned (and the native reference held by the caller is released, the existing component already
+     * holds one), otherwise a new component is created.
+     * <p>
+     * Either way, the caller must invoke {@link #release()} exactly once when it no longer needs the returned component.
+     * The native media instance is only released when every reference to the component has been released.
+     * <p>
+     * This means that repeatedly getting the same item from a media list yields the same component (with the same
+     * listeners and user data) rather than a new component each time.
+     *
+     * @param libvlc native library
+     * @param media native media instance, the caller must own a reference to this instance and must not release it
+     * @return media component
+     */
+    public static Media wrap(LibVlc libvlc, libvlc_media_t media) {
+        return MediaCache.acquire(libvlc, media);
     }
 
     public EventService events() {
-        return eventService;
+        return (EventService) service(EVENTS);
     }
 
     public InfoService info() {
-        return infoService;
+        return (InfoService) service(INFO);
     }
 
     public MetaService meta() {
-        return metaService;
+        return (MetaService) service(META);
     }
 
     public OptionsService options() {
-        return optionsService;
+        return (OptionsService) service(OPTIONS);
     }
 
     public ParseService parsing() {
-        return parseService;
+        return (ParseService) service(PARSING);
     }
 
     public SlaveService slaves() {
-        return slaveService;
+        return (SlaveService) service(SLAVES);
     }
 
     public SubitemService subitems() {
-        return subitemService;
+        return (SubitemService) service(SUBITEMS);
     }
 
     public UserDataService userData() {
-        return userDataService;
+        return (UserDataService) service(USER_DATA);
+    }
+
+    /**
+     * Get a service, creating it if it does not exist yet.
+     *
+     * @param id service identifier
+     * @return service
+     * @throws IllegalStateException if the media has been released
+     */
+    private BaseService service(int id) {
+        BaseService result = services.get(id);
+        if (result == null) {
+            synchronized (serviceLock) {
+                if (servicesReleased) {
+                    throw new IllegalStateException("Media has been released");
+                }
+                result = services.get(id);
+                if (result == null) {
+                    result = newService(id);
+                    services.set(id, result);
+                }
+            }
+        }
+        return result;
+    }
+
+    private BaseService newService(int id) {
+        switch (id) {
+            case EVENTS:
+                return new EventService(this);
+            case INFO:
+                return new InfoService(this);
+            case META:
+                return new MetaService(this);
+            case OPTIONS:
+                return new OptionsService(this);
+            case PARSING:
+                return new ParseService(this);
+            case SLAVES:
+                return new SlaveService(this);
+            case SUBITEMS:
+                return new SubitemService(this);
+            case USER_DATA:
+                return new UserDataService(this);
+            default:
+                throw new IllegalArgumentException("Unknown service " + id);
+        }
+    }
+
+    /**
+     * Create a new, independent, copy of this media.
+     * <p>
+     * The copy has the same MRL and options as this media, any options subsequently added to either do not affect the
+     * other. The caller must release the returned media when it is no longer needed.
+     *
+     * @return copy of this media, or <code>null</code> if the native media could not be duplicated
+     */
+    public Media duplicate() {
+        libvlc_media_t copy = libvlc.libvlc_media_duplicate(mediaInstance);
+        return copy != null ? new Media(libvlc, copy) : null;
     }
 
     public libvlc_media_t mediaInstance() {
         return mediaInstance;
     }
 
+    /**
+     * Release this component.
+     * <p>
+     * The native media instance is released when the last outstanding reference to this component is released.
+     */
     public void release() {
-        eventService   .release();
-        infoService    .release();
-        optionsService .release();
-        parseService   .release();
-        metaService    .release();
-        slaveService   .release();
-        subitemService .release();
-        userDataService.release();
-
-        libvlc.libvlc_media_release(mediaInstance);
+        if (MediaCache.release(this)) {
+            synchronized (serviceLock) {
+                servicesReleased = true;
+            }
+            for (int id = 0; id < SERVICE_COUNT; id++) {
+                release(services.get(id));
+            }
+
+            libvlc.libvlc_media_release(mediaInstance);
+        }
+    }
+
+    /**
+     * Release a service, if it was ever created.
+     *
+     * @param service service to release, may be <code>null</code>
+     */
+    private void release(BaseService service) {
+        if (service != null) {
+            service.release();
+        }
     }
 
 }
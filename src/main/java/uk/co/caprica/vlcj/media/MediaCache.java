@@ -0,0 +1,125 @@
+package uk.co.caprica.vlcj.media;
+
+import com.sun.jna.Pointer;
+import uk.co.caprica.vlcj.binding.LibVlc;
+import uk.co.caprica.vlcj.binding.internal.libvlc_media_t;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Cache of the canonical media component for each native media instance.
+ * <p>
+ * Components are keyed by the identity (address) of the native media instance and are only weakly referenced, so the
+ * cache never keeps a component alive. A component is removed from the cache when its last reference is released.
+ * <p>
+ * A native media instance can not be freed while a component holds a reference to it, so the address can not be
+ * re-used for a different media instance while the component is in the cache.
+ */
+final class MediaCache {
+
+    /**
+     * Map of native media instance address to media component.
+     */
+    private static final Map<Long, MediaReference> cache = new HashMap<Long, MediaReference>();
+
+    /**
+     * Queue of references to media components that have been garbage collected.
+     */
+    private static final ReferenceQueue<Media> queue = new ReferenceQueue<Media>();
+
+    /**
+     * Prevent direct instantiation by others.
+     */
+    private MediaCache() {
+    }
+
+    /**
+     * Get the canonical media component for a native media instance, creating a new component if necessary.
+     *
+     * @param libvlc native library
+     * @param mediaInstance native media instance, the caller's reference to this instance is transferred
+     * @return media component
+     */
+    static synchronized Media acquire(LibVlc libvlc, libvlc_media_t mediaInstance) {
+        expunge();
+        MediaReference reference = cache.get(key(mediaInstance));
+        Media media = reference != null ? reference.get() : null;
+        if (media != null && media.references > 0) {
+            media.references++;
+            // The existing component already holds a native reference, so the caller's reference is not needed
+            libvlc.libvlc_media_release(mediaInstance);
+            return media;
+        } else {
+            return new Media(libvlc, mediaInstance);
+        }
+    }
+
+    /**
+     * Register a new media component, if there is not already a component for the same native media instance.
+     *
+     * @param media media component
+     */
+    static synchronized void register(Media media) {
+        expunge();
+        Long key = key(media.mediaInstance());
+        MediaReference reference = cache.get(key);
+        Media existing = reference != null ? reference.get() : null;
+        if (existing == null || existing.references == 0) {
+            cache.put(key, new MediaReference(key, media, queue));
+        }
+    }
+
+    /**
+     * Release a reference to a media component.
+     *
+     * @param media media component
+     * @return <code>true</code> if that was the last reference and the component should now release its resources
+     */
+    static synchronized boolean release(Media media) {
+        if (media.references == 0) {
+            return false;
+        }
+        if (--media.references > 0) {
+            return false;
+        }
+        Long key = key(media.mediaInstance());
+        MediaReference reference = cache.get(key);
+        if (reference != null && reference.get() == media) {
+            cache.remove(key);
+        }
+        return true;
+    }
+
+    /**
+     * Remove the entries for any media components that have been garbage collected.
+     */
+    private static void expunge() {
+        MediaReference reference;
+        while ((reference = (MediaReference) queue.poll()) != null) {
+            if (cache.get(reference.key) == reference) {
+                cache.remove(reference.key);
+            }
+        }
+    }
+
+    private static Long key(libvlc_media_t mediaInstance) {
+        return Pointer.nativeValue(mediaInstance.getPointer());
+    }
+
+    /**
+     * Weak reference to a media component, that remembers its own key.
+     */
+    private static final class MediaReference extends WeakReference<Media> {
+
+        private final Long key;
+
+        private MediaReference(Long key, Media media, ReferenceQueue<Media> queue) {
+            super(media, queue);
+            this.key = key;
+        }
+    }
+
+}
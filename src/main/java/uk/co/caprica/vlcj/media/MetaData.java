@@ -0,0 +1,61 @@
+package uk.co.caprica.vlcj.media;
+
+import uk.co.caprica.vlcj.enums.Meta;
+
+/**
+ * Immutable snapshot of all of the meta data for a media item.
+ * <p>
+ * See {@link MetaService#asMetaData()}.
+ */
+public final class MetaData {
+
+    /**
+     * Meta data values, indexed by {@link Meta#intValue()}.
+     */
+    private final String[] values;
+
+    /**
+     * Create a meta data snapshot.
+     *
+     * @param values meta data values, this array must not be changed after it is passed to this constructor
+     */
+    MetaData(String[] values) {
+        this.values = values;
+    }
+
+    /**
+     * Get a meta data value.
+     *
+     * @param meta type of meta data
+     * @return meta data value, may be <code>null</code>
+     */
+    public String get(Meta meta) {
+        return values[meta.intValue()];
+    }
+
+    /**
+     * Get the meta data values.
+     * <p>
+     * Package-private, the caller must not change the returned array.
+     *
+     * @return meta data values, indexed by {@link Meta#intValue()}
+     */
+    String[] values() {
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(200);
+        sb.append(getClass().getSimpleName()).append('[');
+        for (Meta meta : Meta.values()) {
+            if (meta.intValue() > 0) {
+                sb.append(',');
+            }
+            sb.append(meta.name()).append('=').append(values[meta.intValue()]);
+        }
+        sb.append(']');
+        return sb.toString();
+    }
+
+}
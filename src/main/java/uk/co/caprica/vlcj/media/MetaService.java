@@ -1,14 +1,57 @@
 package uk.co.caprica.vlcj.media;
 
+import com.sun.jna.CallbackThreadInitializer;
+import com.sun.jna.Native;
 import com.sun.jna.Pointer;
+import uk.co.caprica.vlcj.binding.internal.libvlc_callback_t;
+import uk.co.caprica.vlcj.binding.internal.libvlc_event_e;
+import uk.co.caprica.vlcj.binding.internal.libvlc_event_t;
+import uk.co.caprica.vlcj.binding.internal.media_meta_changed;
 import uk.co.caprica.vlcj.enums.Meta;
 import uk.co.caprica.vlcj.binding.NativeString;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 // FIXME need to add some comments regarding fetching remote artwork url (it might happen during parse)
 // FIXME need to add about maybe only parsing local files, see parseflags
 
 public class MetaService extends BaseService {
 
+    /**
+     * Number of meta data types.
+     */
+    private static final int META_COUNT = Meta.values().length;
+
+    /**
+     * Bit mask with a bit set for every meta data type.
+     */
+    private static final long ALL_META = (1L << META_COUNT) - 1;
+
+    /**
+     * Bit mask of the meta data types that have changed since the snapshot was last updated.
+     * <p>
+     * Bits are set by the native event callback thread, which must not call back into LibVLC, and are cleared when the
+     * snapshot is updated.
+     */
+    private final AtomicLong changed = new AtomicLong(ALL_META);
+
+    /**
+     * Most recent meta data snapshot, may be <code>null</code>.
+     */
+    private MetaData metaData;
+
+    /**
+     * Native meta changed event callback, registered when the first snapshot is requested.
+     * <p>
+     * A hard reference must be kept to the callback to prevent it being garbage collected while it is registered.
+     */
+    private MetaChangedCallback callback;
+
+    /**
+     * Flag whether or not this service has been released.
+     */
+    private boolean released;
+
     MetaService(Media media) {
         super(media);
     }
@@ -19,6 +62,48 @@ public class MetaService extends BaseService {
 
     public void set(Meta meta, String value) {
         libvlc.libvlc_media_set_meta(mediaInstance, meta.intValue(), value);
+        changed(meta.intValue());
+    }
+
+    /**
+     * Get a snapshot of all of the meta data.
+     * <p>
+     * The snapshot is kept and returned again by subsequent invocations of this method. When the native media reports
+     * that a meta data value has changed, only that value is fetched again (into a new snapshot) the next time this
+     * method is invoked - so repeatedly getting the meta data for a media item that has not changed does not require
+     * any native calls.
+     * <p>
+     * The first invocation registers for the native meta changed event only, no other native media events are
+     * registered. The registration is removed when the media is released.
+     *
+     * @return meta data snapshot
+     */
+    public synchronized MetaData asMetaData() {
+        if (callback == null && !released) {
+            // Listen for changes before the first read so no change can be missed
+            callback = new MetaChangedCallback();
+            libvlc.libvlc_event_attach(libvlc.libvlc_media_event_manager(mediaInstance), libvlc_event_e.libvlc_MediaMetaChanged.intValue(), callback, null);
+        }
+        long changedMeta = changed.getAndSet(0);
+        if (changedMeta != 0) {
+            String[] values = metaData != null ? metaData.values().clone() : new String[META_COUNT];
+            for (int i = 0; i < META_COUNT; i++) {
+                if ((changedMeta & (1L << i)) != 0) {
+                    values[i] = getMetaValue(libvlc.libvlc_media_get_meta(mediaInstance, i));
+                }
+            }
+            metaData = new MetaData(values);
+        }
+        return metaData;
+    }
+
+    private void changed(int metaType) {
+        if (metaType >= 0 && metaType < META_COUNT) {
+            long current;
+            do {
+                current = changed.get();
+            } while (!changed.compareAndSet(current, current | (1L << metaType)));
+        }
     }
 
     public boolean save() {
@@ -29,4 +114,28 @@ public class MetaService extends BaseService {
         return NativeString.copyAndFreeNativeString(libvlc, pointer);
     }
 
+    @Override
+    protected synchronized void release() {
+        released = true;
+        if (callback != null) {
+            libvlc.libvlc_event_detach(libvlc.libvlc_media_event_manager(mediaInstance), libvlc_event_e.libvlc_MediaMetaChanged.intValue(), callback, null);
+            callback = null;
+        }
+    }
+
+    /**
+     * Native callback used to invalidate individual meta data values in the snapshot.
+     */
+    private class MetaChangedCallback implements libvlc_callback_t {
+
+        private MetaChangedCallback() {
+            Native.setCallbackThreadInitializer(this, new CallbackThreadInitializer(true, false, "media-events"));
+        }
+
+        @Override
+        public void callback(libvlc_event_t event, Pointer userData) {
+            changed(((media_meta_changed) event.u.getTypedValue(media_meta_changed.class)).meta_type);
+        }
+    }
+
 }
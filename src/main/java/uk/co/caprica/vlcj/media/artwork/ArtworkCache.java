@@ -0,0 +1,108 @@
+/*
+ * This file is part of VLCJ.
+ *
+ * VLCJ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * VLCJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with VLCJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2019 Caprica Software Limited.
+ */
+
+package uk.co.caprica.vlcj.media.artwork;
+
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least-recently-used cache of artwork images, bounded by the approximate memory used by the images.
+ */
+final class ArtworkCache {
+
+    /**
+     * Maximum total size of the cached images, in bytes.
+     */
+    private final long maximumBytes;
+
+    /**
+     * Cached images, in access order.
+     */
+    private final LinkedHashMap<String, BufferedImage> images = new LinkedHashMap<String, BufferedImage>(16, 0.75f, true);
+
+    /**
+     * Current total size of the cached images, in bytes.
+     */
+    private long bytes;
+
+    /**
+     * Create a cache.
+     *
+     * @param maximumBytes maximum total size of the cached images, in bytes
+     */
+    ArtworkCache(long maximumBytes) {
+        this.maximumBytes = maximumBytes;
+    }
+
+    synchronized BufferedImage get(String url) {
+        return images.get(url);
+    }
+
+    /**
+     * Add an image to the cache, evicting the least recently used images if necessary.
+     * <p>
+     * An image that is by itself larger than the cache is not added.
+     *
+     * @param url artwork URL
+     * @param image image
+     */
+    synchronized void put(String url, BufferedImage image) {
+        long size = sizeOf(image);
+        if (size > maximumBytes) {
+            return;
+        }
+        BufferedImage previous = images.put(url, image);
+        if (previous != null) {
+            bytes -= sizeOf(previous);
+        }
+        bytes += size;
+        Iterator<Map.Entry<String, BufferedImage>> it = images.entrySet().iterator();
+        while (bytes > maximumBytes && it.hasNext()) {
+            bytes -= sizeOf(it.next().getValue());
+            it.remove();
+        }
+    }
+
+    synchronized void clear() {
+        images.clear();
+        bytes = 0;
+    }
+
+    synchronized long bytes() {
+        return bytes;
+    }
+
+    synchronized int size() {
+        return images.size();
+    }
+
+    /**
+     * Get the approximate memory used by an image.
+     *
+     * @param image image
+     * @return size, in bytes
+     */
+    private static long sizeOf(BufferedImage image) {
+        return (long) image.getWidth() * image.getHeight() * 4;
+    }
+
+}
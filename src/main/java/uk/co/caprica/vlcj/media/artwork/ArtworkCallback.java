@@ -0,0 +1,48 @@
+/*
+ * This file is part of VLCJ.
+ *
+ * VLCJ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * VLCJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with VLCJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2019 Caprica Software Limited.
+ */
+
+package uk.co.caprica.vlcj.media.artwork;
+
+import java.awt.image.BufferedImage;
+
+/**
+ * Specification for a component interested in the outcome of an artwork request.
+ * <p>
+ * Callbacks are invoked on an artwork loader thread (or on the requesting thread if the artwork was already cached), so
+ * a Swing application must use <code>SwingUtilities#invokeLater</code> before updating any user interface component.
+ */
+public interface ArtworkCallback {
+
+    /**
+     * Artwork was loaded.
+     *
+     * @param url artwork URL
+     * @param image artwork image, may be <code>null</code> if the image format is not supported
+     */
+    void artworkLoaded(String url, BufferedImage image);
+
+    /**
+     * Artwork could not be loaded.
+     *
+     * @param url artwork URL
+     * @param cause reason for the failure
+     */
+    void artworkFailed(String url, Throwable cause);
+
+}
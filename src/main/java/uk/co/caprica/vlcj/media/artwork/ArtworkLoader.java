@@ -0,0 +1,452 @@
+/*
+ * This file is part of VLCJ.
+ *
+ * VLCJ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * VLCJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with VLCJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2019 Caprica Software Limited.
+ */
+
+package uk.co.caprica.vlcj.media.artwork;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous loader for media artwork.
+ * <p>
+ * Artwork is loaded by a small, fixed-size pool of background threads, so that an application never blocks the thread
+ * that requests the artwork (e.g. the Swing Event Dispatch Thread, or a native event callback thread) while an image is
+ * downloaded and decoded.
+ * <p>
+ * Concurrent requests for the same URL share a single load. Loaded images are optionally scaled down to fit within a
+ * maximum size, and are kept in a least-recently-used cache bounded by the approximate memory used by the images, so
+ * an application showing many items does not keep all of their full-size artwork alive.
+ * <p>
+ * Results are provided as a {@link Future}, and optionally to an {@link ArtworkCallback}.
+ * <p>
+ * A shared loader suitable for most applications is available from {@link #sharedLoader()}.
+ */
+public final class ArtworkLoader {
+
+    /**
+     * Number of threads used by the shared loader.
+     */
+    private static final int SHARED_THREADS = 2;
+
+    /**
+     * Maximum size of the shared loader image cache, in bytes.
+     */
+    private static final long SHARED_CACHE_BYTES = 32 * 1024 * 1024;
+
+    /**
+     * Time, in seconds, that an idle loader thread is kept before it is discarded.
+     */
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    /**
+     * Shared loader, created on first use.
+     */
+    private static ArtworkLoader sharedLoader;
+
+    /**
+     * Maximum width of a loaded image, zero for no limit.
+     */
+    private final int maxWidth;
+
+    /**
+     * Maximum height of a loaded image, zero for no limit.
+     */
+    private final int maxHeight;
+
+    /**
+     * Cache of loaded images.
+     */
+    private final ArtworkCache cache;
+
+    /**
+     * Loads that are in progress, keyed by URL.
+     */
+    private final ConcurrentMap<String, LoadTask> pending = new ConcurrentHashMap<String, LoadTask>();
+
+    /**
+     * Executor used to load the images.
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Create an artwork loader that keeps images at their original size.
+     *
+     * @param threads number of loader threads
+     * @param cacheBytes maximum size of the image cache, in bytes
+     */
+    public ArtworkLoader(int threads, long cacheBytes) {
+        this(threads, cacheBytes, 0, 0);
+    }
+
+    /**
+     * Create an artwork loader.
+     * <p>
+     * Images larger than the maximum size are scaled down, preserving the aspect ratio, before they are cached.
+     *
+     * @param threads number of loader threads
+     * @param cacheBytes maximum size of the image cache, in bytes
+     * @param maxWidth maximum image width, or zero for no limit
+     * @param maxHeight maximum image height, or zero for no limit
+     */
+    public ArtworkLoader(int threads, long cacheBytes, int maxWidth, int maxHeight) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1");
+        }
+        this.maxWidth = maxWidth;
+        this.maxHeight = maxHeight;
+        this.cache = new ArtworkCache(cacheBytes);
+        this.executor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new LoaderThreadFactory());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Get the shared artwork loader.
+     * <p>
+     * The shared loader keeps images at their original size. It must not be released.
+     *
+     * @return shared loader
+     */
+    public static synchronized ArtworkLoader sharedLoader() {
+        if (sharedLoader == null) {
+            sharedLoader = new ArtworkLoader(SHARED_THREADS, SHARED_CACHE_BYTES);
+        }
+        return sharedLoader;
+    }
+
+    /**
+     * Load artwork.
+     *
+     * @param url artwork URL
+     * @return future result, the image may be <code>null</code> if there is no URL or the image format is not supported
+     */
+    public Future<BufferedImage> load(String url) {
+        return load(url, null);
+    }
+
+    /**
+     * Load artwork.
+     * <p>
+     * If the artwork is already cached, the callback is invoked immediately on the calling thread.
+     *
+     * @param url artwork URL
+     * @param callback component to notify when the artwork has been loaded, may be <code>null</code>
+     * @return future result, the image may be <code>null</code> if there is no URL or the image format is not supported;
+     *         cancelling the future only affects this caller, the load continues for any other callers (and the callback
+     *         for this caller is not invoked)
+     */
+    public Future<BufferedImage> load(String url, ArtworkCallback callback) {
+        if (url == null || url.length() == 0) {
+            return completed(url, null, callback);
+        }
+        BufferedImage image = cache.get(url);
+        if (image != null) {
+            return completed(url, image, callback);
+        }
+        LoadTask task = pending.get(url);
+        if (task == null) {
+            LoadTask newTask = new LoadTask(url);
+            task = pending.putIfAbsent(url, newTask);
+            if (task == null) {
+                task = newTask;
+                try {
+                    executor.execute(task);
+                }
+                catch (RejectedExecutionException e) {
+                    pending.remove(url, task);
+                    throw e;
+                }
+            }
+        }
+        if (callback != null) {
+            task.addCallback(callback);
+        }
+        // The load is shared by every caller for the same URL, so each caller gets its own view that it can cancel
+        return new LoadView(task, callback);
+    }
+
+    /**
+     * Get a cached image, without loading it.
+     *
+     * @param url artwork URL
+     * @return image, or <code>null</code> if the image is not cached
+     */
+    public BufferedImage cached(String url) {
+        return url != null ? cache.get(url) : null;
+    }
+
+    /**
+     * Get the number of cached images.
+     *
+     * @return number of images
+     */
+    public int cachedCount() {
+        return cache.size();
+    }
+
+    /**
+     * Get the approximate memory used by the cached images.
+     *
+     * @return size, in bytes
+     */
+    public long cachedBytes() {
+        return cache.bytes();
+    }
+
+    /**
+     * Remove all images from the cache.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * Release this loader.
+     * <p>
+     * Loads that have not yet finished are cancelled.
+     */
+    public void release() {
+        executor.shutdownNow();
+        for (LoadTask task : pending.values()) {
+            task.cancel(true);
+        }
+        cache.clear();
+    }
+
+    private Future<BufferedImage> completed(String url, final BufferedImage image, ArtworkCallback callback) {
+        FutureTask<BufferedImage> result = new FutureTask<BufferedImage>(new Callable<BufferedImage>() {
+            @Override
+            public BufferedImage call() {
+                return image;
+            }
+        });
+        result.run();
+        if (callback != null) {
+            callback.artworkLoaded(url, image);
+        }
+        return result;
+    }
+
+    private BufferedImage read(String url) throws Exception {
+        BufferedImage image = ImageIO.read(new URL(url));
+        if (image != null) {
+            image = scale(image);
+            cache.put(url, image);
+        }
+        return image;
+    }
+
+    /**
+     * Scale an image down, if necessary, so that it fits within the maximum size.
+     *
+     * @param image image
+     * @return scaled image, or the original image if it did not need to be scaled
+     */
+    private BufferedImage scale(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        double scale = 1.0;
+        if (maxWidth > 0 && width > maxWidth) {
+            scale = (double) maxWidth / width;
+        }
+        if (maxHeight > 0 && height * scale > maxHeight) {
+            scale = (double) maxHeight / height;
+        }
+        if (scale >= 1.0) {
+            return image;
+        }
+        int scaledWidth = Math.max(1, (int) Math.round(width * scale));
+        int scaledHeight = Math.max(1, (int) Math.round(height * scale));
+        BufferedImage result = new BufferedImage(scaledWidth, scaledHeight, image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = result.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(image, 0, 0, scaledWidth, scaledHeight, null);
+        }
+        finally {
+            g.dispose();
+        }
+        return result;
+    }
+
+    /**
+     * Task that loads a single image and notifies any callbacks when done.
+     */
+    private final class LoadTask extends FutureTask<BufferedImage> {
+
+        private final String url;
+
+        private final List<ArtworkCallback> callbacks = new ArrayList<ArtworkCallback>(1);
+
+        private boolean finished;
+
+        private LoadTask(final String url) {
+            super(new Callable<BufferedImage>() {
+                @Override
+                public BufferedImage call() throws Exception {
+                    return read(url);
+                }
+            });
+            this.url = url;
+        }
+
+        private synchronized void removeCallback(ArtworkCallback callback) {
+            callbacks.remove(callback);
+        }
+
+        private void addCallback(ArtworkCallback callback) {
+            synchronized (this) {
+                if (!finished) {
+                    callbacks.add(callback);
+                    return;
+                }
+            }
+            notifyCallback(callback);
+        }
+
+        @Override
+        protected void done() {
+            pending.remove(url, this);
+            List<ArtworkCallback> toNotify;
+            synchronized (this) {
+                finished = true;
+                toNotify = new ArrayList<ArtworkCallback>(callbacks);
+                callbacks.clear();
+            }
+            for (ArtworkCallback callback : toNotify) {
+                notifyCallback(callback);
+            }
+        }
+
+        private void notifyCallback(ArtworkCallback callback) {
+            BufferedImage image;
+            try {
+                image = get();
+            }
+            catch (ExecutionException e) {
+                callback.artworkFailed(url, e.getCause());
+                return;
+            }
+            catch (Exception e) {
+                callback.artworkFailed(url, e);
+                return;
+            }
+            callback.artworkLoaded(url, image);
+        }
+    }
+
+    /**
+     * A single caller's view of a shared load.
+     * <p>
+     * Cancelling a view cancels only that view, the shared load carries on for everyone else.
+     */
+    private static final class LoadView implements Future<BufferedImage> {
+
+        private final LoadTask task;
+
+        private final ArtworkCallback callback;
+
+        private volatile boolean cancelled;
+
+        private LoadView(LoadTask task, ArtworkCallback callback) {
+            this.task = task;
+            this.callback = callback;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            synchronized (this) {
+                if (cancelled || task.isDone()) {
+                    return false;
+                }
+                cancelled = true;
+            }
+            if (callback != null) {
+                task.removeCallback(callback);
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled || task.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            return cancelled || task.isDone();
+        }
+
+        @Override
+        public BufferedImage get() throws InterruptedException, ExecutionException {
+            checkCancelled();
+            BufferedImage result = task.get();
+            checkCancelled();
+            return result;
+        }
+
+        @Override
+        public BufferedImage get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            checkCancelled();
+            BufferedImage result = task.get(timeout, unit);
+            checkCancelled();
+            return result;
+        }
+
+        private void checkCancelled() {
+            if (cancelled) {
+                throw new CancellationException();
+            }
+        }
+    }
+
+    /**
+     * Factory for the daemon threads used to load artwork.
+     */
+    private static final class LoaderThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "vlcj-artwork-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+}
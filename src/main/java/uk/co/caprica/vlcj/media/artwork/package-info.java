@@ -0,0 +1,4 @@
+/**
+ * Provides asynchronous loading and caching of media artwork.
+ */
+package uk.co.caprica.vlcj.media.artwork;
@@ -74,6 +74,40 @@ public class EventService extends BaseService {
         }
     }
 
+    /**
+     * Stop receiving the native will add and added events for each item, while a batch of items is added.
+     * <p>
+     * Detaching the call-back, rather than ignoring the events, avoids a native call-back for every item in the batch.
+     * <p>
+     * This must only be invoked while holding the native media list lock, so no other thread can be adding items.
+     */
+    void suspendItemAddedEvents() {
+        libvlc_event_manager_t eventManager = libvlc.libvlc_media_list_event_manager(mediaListInstance);
+        libvlc.libvlc_event_detach(eventManager, libvlc_event_e.libvlc_MediaListWillAddItem.intValue(), callback, null);
+        libvlc.libvlc_event_detach(eventManager, libvlc_event_e.libvlc_MediaListItemAdded.intValue(), callback, null);
+    }
+
+    /**
+     * Resume receiving the native will add and added events for each item.
+     */
+    void resumeItemAddedEvents() {
+        libvlc_event_manager_t eventManager = libvlc.libvlc_media_list_event_manager(mediaListInstance);
+        libvlc.libvlc_event_attach(eventManager, libvlc_event_e.libvlc_MediaListWillAddItem.intValue(), callback, null);
+        libvlc.libvlc_event_attach(eventManager, libvlc_event_e.libvlc_MediaListItemAdded.intValue(), callback, null);
+    }
+
+    /**
+     * Raise a single event for a batch of items that were added.
+     *
+     * @param index index of the first item added
+     * @param count number of items added
+     */
+    void raiseItemsAdded(int index, int count) {
+        for (MediaListEventListener listener : eventListenerList) {
+            listener.mediaListItemsAdded(mediaList, index, count);
+        }
+    }
+
     /**
      * Raise a new event (dispatch it to listeners).
      * <p>
@@ -3,6 +3,7 @@ package uk.co.caprica.vlcj.medialist;
 import uk.co.caprica.vlcj.binding.internal.*;
 import uk.co.caprica.vlcj.media.Media;
 import uk.co.caprica.vlcj.binding.NativeString;
+import uk.co.caprica.vlcj.player.MediaResourceLocator;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -102,6 +103,153 @@ public class ItemService extends BaseService {
         }
     }
 
+    /**
+     * Add media items to the end of the play-list, creating the media from their MRLs.
+     * <p>
+     * The native list is locked only once for the whole batch, and listeners are sent a single
+     * {@link MediaListEventListener#mediaListItemsAdded(MediaList, int, int)} event rather than will add and added
+     * events for each item.
+     * <p>
+     * This requires a media list created by the media player factory.
+     * @param mrls media resource locators
+     * @return <code>true</code> if all items were added; <code>false</code> otherwise
+     */
+    public boolean addAll(String... mrls) {
+        return insertMrls(-1, mrls);
+    }
+
+    /**
+     * Insert media items into the play-list, creating the media from their MRLs.
+     * <p>
+     * See {@link #addAll(String...)}.
+     * @param index position at which to insert the first media item (counting from zero)
+     * @param mrls media resource locators
+     * @return <code>true</code> if all items were inserted; <code>false</code> otherwise
+     */
+    public boolean insertAll(int index, String... mrls) {
+        if (index < 0) {
+            return false;
+        }
+        return insertMrls(index, mrls);
+    }
+
+    /**
+     * Add media items to the end of the play-list.
+     * <p>
+     * See {@link #addAll(String...)}.
+     * @param media media items
+     * @return <code>true</code> if all items were added; <code>false</code> otherwise
+     */
+    public boolean addAll(List<Media> media) {
+        return insertMedia(-1, media);
+    }
+
+    /**
+     * Insert media items into the play-list.
+     * <p>
+     * See {@link #addAll(String...)}.
+     * @param index position at which to insert the first media item (counting from zero)
+     * @param media media items
+     * @return <code>true</code> if all items were inserted; <code>false</code> otherwise
+     */
+    public boolean insertAll(int index, List<Media> media) {
+        if (index < 0) {
+            return false;
+        }
+        return insertMedia(index, media);
+    }
+
+    private boolean insertMedia(int index, List<Media> media) {
+        libvlc_media_t[] items = new libvlc_media_t[media.size()];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = media.get(i).mediaInstance();
+        }
+        return insertAll(index, items);
+    }
+
+    private boolean insertMrls(int index, String[] mrls) {
+        libvlc_media_t[] items = newMedia(mrls);
+        if (items == null) {
+            return false;
+        }
+        try {
+            return insertAll(index, items);
+        }
+        finally {
+            // The list has retained the media that were added
+            release(items);
+        }
+    }
+
+    /**
+     * Insert a batch of native media while holding the native list lock once.
+     * @param index position at which to insert the first media item, or -1 to add to the end
+     * @param items native media
+     * @return <code>true</code> if all items were inserted; <code>false</code> otherwise
+     */
+    private boolean insertAll(int index, libvlc_media_t[] items) {
+        int at;
+        int added = 0;
+        lock();
+        try {
+            int count = libvlc.libvlc_media_list_count(mediaListInstance);
+            at = index == -1 ? count : index;
+            if (at < 0 || at > count) {
+                return false;
+            }
+            mediaList.events().suspendItemAddedEvents();
+            try {
+                for (libvlc_media_t item : items) {
+                    if (libvlc.libvlc_media_list_insert_media(mediaListInstance, item, at + added) != 0) {
+                        break;
+                    }
+                    added++;
+                }
+            }
+            finally {
+                mediaList.events().resumeItemAddedEvents();
+            }
+        }
+        finally {
+            unlock();
+        }
+        if (added > 0) {
+            mediaList.events().raiseItemsAdded(at, added);
+        }
+        return added == items.length;
+    }
+
+    /**
+     * Create native media for MRLs.
+     * <p>
+     * The list retains each media when it is added, so the returned media must always be released.
+     * @param mrls media resource locators
+     * @return native media, or <code>null</code> if any could not be created (none are then returned)
+     */
+    private libvlc_media_t[] newMedia(String[] mrls) {
+        if (mediaList.libvlcInstance == null) {
+            throw new IllegalStateException("Media list can not create media");
+        }
+        libvlc_media_t[] result = new libvlc_media_t[mrls.length];
+        for (int i = 0; i < mrls.length; i++) {
+            String mrl = MediaResourceLocator.encodeMrl(mrls[i]);
+            result[i] = MediaResourceLocator.isLocation(mrl) ? libvlc.libvlc_media_new_location(mediaList.libvlcInstance, mrl) : libvlc.libvlc_media_new_path(mediaList.libvlcInstance, mrl);
+            if (result[i] == null) {
+                release(result);
+                return null;
+            }
+        }
+        return result;
+    }
+
+    private void release(libvlc_media_t[] items) {
+        for (libvlc_media_t item : items) {
+            if (item != null) {
+                libvlc.libvlc_media_release(item);
+            }
+        }
+    }
+
     /**
      * Remove a media item from the play-list.
      *
@@ -123,7 +271,7 @@ public class ItemService extends BaseService {
         try {
             libvlc_media_t media = libvlc.libvlc_media_list_item_at_index(mediaListInstance, index);
             if (media != null) {
-                return new Media(libvlc, media);
+                return Media.wrap(libvlc, media);
             } else {
                 return null;
             }
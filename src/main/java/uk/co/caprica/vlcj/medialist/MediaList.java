@@ -1,6 +1,7 @@
 package uk.co.caprica.vlcj.medialist;
 
 import uk.co.caprica.vlcj.binding.LibVlc;
+import uk.co.caprica.vlcj.binding.internal.libvlc_instance_t;
 import uk.co.caprica.vlcj.binding.internal.libvlc_media_list_t;
 
 // FIXME developer note - when you do insert, or remove, LibVLC is doing retain and release on the media instance, so we don't need to. we need to really nail down when retain and release are needed
@@ -13,6 +14,11 @@ public final class MediaList {
      */
     protected final LibVlc libvlc;
 
+    /**
+     * Native library instance used to create new media for the list, may be <code>null</code>.
+     */
+    protected final libvlc_instance_t libvlcInstance;
+
     /**
      * Native media list instance.
      */
@@ -28,7 +34,19 @@ public final class MediaList {
      * @param mediaListInstance native media list, the caller must not release this opaque handle, it will be released by this component when it is no longer needed
      */
     public MediaList(LibVlc libvlc, libvlc_media_list_t mediaListInstance) {
+        this(libvlc, null, mediaListInstance);
+    }
+
+    /**
+     * Create a new media list that can create its own media from MRLs.
+     *
+     * @param libvlc
+     * @param libvlcInstance native library instance, used to create media when items are added by MRL
+     * @param mediaListInstance native media list, the caller must not release this opaque handle, it will be released by this component when it is no longer needed
+     */
+    public MediaList(LibVlc libvlc, libvlc_instance_t libvlcInstance, libvlc_media_list_t mediaListInstance) {
         this.libvlc = libvlc;
+        this.libvlcInstance = libvlcInstance;
         this.mediaList = mediaListInstance;
 
         this.eventService = new EventService(this);
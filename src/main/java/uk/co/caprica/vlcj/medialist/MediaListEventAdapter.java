@@ -42,6 +42,10 @@ public class MediaListEventAdapter implements MediaListEventListener {
     public void mediaListItemAdded(MediaList mediaList, libvlc_media_t mediaInstance, int index) {
     }
 
+    @Override
+    public void mediaListItemsAdded(MediaList mediaList, int index, int count) {
+    }
+
     @Override
     public void mediaListWillDeleteItem(MediaList mediaList, libvlc_media_t mediaInstance, int index) {
     }
@@ -45,6 +45,18 @@ public interface MediaListEventListener {
      */
     void mediaListItemAdded(MediaList mediaList, libvlc_media_t mediaInstance, int index);
 
+    /**
+     * A batch of media items was added to the list.
+     * <p>
+     * This is raised by a bulk add or insert (see {@link ItemService#addAll(String...)}), in place of the individual
+     * will add and added events for each item. It is raised on the thread that made the change, not on a native
+     * callback thread.
+     * @param mediaList list
+     * @param index index in the list at which the first media instance was added
+     * @param count number of media instances that were added, the items are contiguous
+     */
+    void mediaListItemsAdded(MediaList mediaList, int index, int count);
+
     /**
      * A new media item will be deleted from the list.
      *
@@ -20,11 +20,9 @@
 package uk.co.caprica.vlcj.player;
 
 import java.awt.image.BufferedImage;
-import java.net.URL;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
-import javax.imageio.ImageIO;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -32,7 +30,9 @@ import uk.co.caprica.vlcj.binding.LibVlc;
 import uk.co.caprica.vlcj.binding.NativeString;
 import uk.co.caprica.vlcj.binding.internal.libvlc_media_t;
 import uk.co.caprica.vlcj.enums.Meta;
-import uk.co.caprica.vlcj.version.Version;
+import uk.co.caprica.vlcj.media.Media;
+import uk.co.caprica.vlcj.media.MetaData;
+import uk.co.caprica.vlcj.media.artwork.ArtworkLoader;
 
 /**
  * Representation of all available media meta data.
@@ -42,6 +42,10 @@ import uk.co.caprica.vlcj.version.Version;
  * <p>
  * Invoking {@link #getArtworkUrl()}, {@link #getArtwork()} or {@link #toString()} may cause an
  * HTTP request to be made to download artwork.
+ * <p>
+ * Artwork is loaded and cached by the {@link ArtworkLoader#sharedLoader() shared artwork loader},
+ * this component does not keep a reference to the image itself. Applications that must not block
+ * while artwork is loaded should use the artwork loader directly with {@link #getArtworkUrl()}.
  */
 public class DefaultMediaMeta implements MediaMeta {
 
@@ -68,16 +72,9 @@ public class DefaultMediaMeta implements MediaMeta {
     private final libvlc_media_t media;
 
     /**
-     * Runtime version of LibVLC.
+     * Canonical media component for the media instance, used for the cached meta data snapshot.
      */
-    private final Version actualVersion;
-
-    /**
-     * Artwork.
-     * <p>
-     * Lazily loaded.
-     */
-    private BufferedImage artwork;
+    private final Media mediaComponent;
 
     /**
      * Create media meta.
@@ -89,9 +86,9 @@ public class DefaultMediaMeta implements MediaMeta {
     public DefaultMediaMeta(LibVlc libvlc, libvlc_media_t media) {
         this.libvlc = libvlc;
         this.media = media;
-        this.actualVersion = new Version(libvlc.libvlc_get_version());
-        // Keep a native reference
+        // Keep a native reference, owned by the media component
         libvlc.libvlc_media_retain(media);
+        this.mediaComponent = Media.wrap(libvlc, media);
     }
 
     @Override
@@ -364,20 +361,20 @@ public class DefaultMediaMeta implements MediaMeta {
     @Override
     public final BufferedImage getArtwork() {
         logger.debug("getArtwork()");
-        if(artwork == null) {
-            String artworkUrl = getArtworkUrl();
-            if(artworkUrl != null && artworkUrl.length() > 0) {
-                try {
-                    URL url = new URL(artworkUrl);
-                    logger.debug("url={}", url);
-                    artwork = ImageIO.read(url);
-                }
-                catch(Exception e) {
-                    throw new RuntimeException("Failed to load artwork", e);
-                }
+        String artworkUrl = getArtworkUrl();
+        if(artworkUrl != null && artworkUrl.length() > 0) {
+            logger.debug("artworkUrl={}", artworkUrl);
+            try {
+                return ArtworkLoader.sharedLoader().load(artworkUrl).get();
+            }
+            catch(ExecutionException e) {
+                throw new RuntimeException("Failed to load artwork", e.getCause());
+            }
+            catch(Exception e) {
+                throw new RuntimeException("Failed to load artwork", e);
             }
         }
-        return artwork;
+        return null;
     }
 
     @Override
@@ -395,43 +392,56 @@ public class DefaultMediaMeta implements MediaMeta {
     public final void release() {
         logger.debug("release()");
         if(released.compareAndSet(false, true)) {
-            libvlc.libvlc_media_release(media);
+            mediaComponent.release();
         }
     }
 
     @Override
     public MediaMetaData asMediaMetaData() {
+        MetaData values = getMetaValues();
         MediaMetaData result = new MediaMetaData();
-        result.setTitle(getTitle());
-        result.setArtist(getArtist());
-        result.setGenre(getGenre());
-        result.setCopyright(getCopyright());
-        result.setAlbum(getAlbum());
-        result.setTrackNumber(getTrackNumber());
-        result.setDescription(getDescription());
-        result.setRating(getRating());
-        result.setDate(getDate());
-        result.setSetting(getSetting());
-        result.setUrl(getUrl());
-        result.setLanguage(getLanguage());
-        result.setNowPlaying(getNowPlaying());
-        result.setPublisher(getPublisher());
-        result.setEncodedBy(getEncodedBy());
-        result.setArtworkUrl(getArtworkUrl());
-        result.setTrackId(getTrackId());
-        result.setTrackTotal(getTrackTotal());
-        result.setDirector(getDirector());
-        result.setSeason(getSeason());
-        result.setEpisode(getEpisode());
-        result.setShowName(getShowName());
-        result.setActors(getActors());
-        result.setAlbumArtist(getAlbumArtist());
-        result.setDiscNumber(getDiscNumber());
-        result.setDiscTotal(getDiscTotal());
+        result.setTitle(values.get(Meta.TITLE));
+        result.setArtist(values.get(Meta.ARTIST));
+        result.setGenre(values.get(Meta.GENRE));
+        result.setCopyright(values.get(Meta.COPYRIGHT));
+        result.setAlbum(values.get(Meta.ALBUM));
+        result.setTrackNumber(values.get(Meta.TRACK_NUMBER));
+        result.setDescription(values.get(Meta.DESCRIPTION));
+        result.setRating(values.get(Meta.RATING));
+        result.setDate(values.get(Meta.DATE));
+        result.setSetting(values.get(Meta.SETTING));
+        result.setUrl(values.get(Meta.URL));
+        result.setLanguage(values.get(Meta.LANGUAGE));
+        result.setNowPlaying(values.get(Meta.NOW_PLAYING));
+        result.setPublisher(values.get(Meta.PUBLISHER));
+        result.setEncodedBy(values.get(Meta.ENCODED_BY));
+        result.setArtworkUrl(values.get(Meta.ARTWORK_URL));
+        result.setTrackId(values.get(Meta.TRACK_ID));
+        result.setTrackTotal(values.get(Meta.TRACK_TOTAL));
+        result.setDirector(values.get(Meta.DIRECTOR));
+        result.setSeason(values.get(Meta.SEASON));
+        result.setEpisode(values.get(Meta.EPISODE));
+        result.setShowName(values.get(Meta.SHOW_NAME));
+        result.setActors(values.get(Meta.ACTORS));
+        result.setAlbumArtist(values.get(Meta.ALBUM_ARTIST));
+        result.setDiscNumber(values.get(Meta.DISC_NUMBER));
+        result.setDiscTotal(values.get(Meta.DISC_TOTAL));
         result.setLength(getLength());
         return result;
     }
 
+    /**
+     * Get all of the local meta data values for the media instance.
+     * <p>
+     * The values come from the cached meta data snapshot of the media component, so only values that changed since the
+     * previous snapshot are fetched from the native media.
+     *
+     * @return meta data snapshot
+     */
+    private MetaData getMetaValues() {
+        return mediaComponent.meta().asMetaData();
+    }
+
     /**
      * Get a local meta data value for a media instance.
      *
@@ -454,38 +464,39 @@ public class DefaultMediaMeta implements MediaMeta {
      */
     private void setMeta(Meta metaType, String value) {
         logger.trace("setMeta(metaType={},media={},value={})", metaType, media, value);
-        libvlc.libvlc_media_set_meta(media, metaType.intValue(), value);
+        mediaComponent.meta().set(metaType, value);
     }
 
     @Override
     public String toString() {
+        MetaData values = getMetaValues();
         StringBuilder sb = new StringBuilder(200);
         sb.append(getClass().getSimpleName()).append('[');
-        sb.append("title=").append(getTitle()).append(',');
-        sb.append("artist=").append(getArtist()).append(',');
-        sb.append("genre=").append(getGenre()).append(',');
-        sb.append("copyright=").append(getCopyright()).append(',');
-        sb.append("album=").append(getAlbum()).append(',');
-        sb.append("trackNumber=").append(getTrackNumber()).append(',');
-        sb.append("description=").append(getDescription()).append(',');
-        sb.append("rating=").append(getRating()).append(',');
-        sb.append("date=").append(getDate()).append(',');
-        sb.append("setting=").append(getSetting()).append(',');
-        sb.append("url=").append(getUrl()).append(',');
-        sb.append("language=").append(getLanguage()).append(',');
-        sb.append("nowPlaying=").append(getNowPlaying()).append(',');
-        sb.append("publisher=").append(getPublisher()).append(',');
-        sb.append("encodedBy=").append(getEncodedBy()).append(',');
-        sb.append("artworkUrl=").append(getArtworkUrl()).append(',');
-        sb.append("trackId=").append(getTrackId()).append(',');
-        sb.append("trackTotal=").append(getTrackTotal()).append(',');
-        sb.append("director=").append(getDirector()).append(',');
-        sb.append("season=").append(getSeason()).append(',');
-        sb.append("episode=").append(getEpisode()).append(',');
-        sb.append("showName=").append(getShowName()).append(',');
-        sb.append("actors=").append(getActors()).append(',');
-        sb.append("albumArtist=").append(getAlbumArtist()).append(',');
-        sb.append("discNumber=").append(getDiscNumber()).append(',');
+        sb.append("title=").append(values.get(Meta.TITLE)).append(',');
+        sb.append("artist=").append(values.get(Meta.ARTIST)).append(',');
+        sb.append("genre=").append(values.get(Meta.GENRE)).append(',');
+        sb.append("copyright=").append(values.get(Meta.COPYRIGHT)).append(',');
+        sb.append("album=").append(values.get(Meta.ALBUM)).append(',');
+        sb.append("trackNumber=").append(values.get(Meta.TRACK_NUMBER)).append(',');
+        sb.append("description=").append(values.get(Meta.DESCRIPTION)).append(',');
+        sb.append("rating=").append(values.get(Meta.RATING)).append(',');
+        sb.append("date=").append(values.get(Meta.DATE)).append(',');
+        sb.append("setting=").append(values.get(Meta.SETTING)).append(',');
+        sb.append("url=").append(values.get(Meta.URL)).append(',');
+        sb.append("language=").append(values.get(Meta.LANGUAGE)).append(',');
+        sb.append("nowPlaying=").append(values.get(Meta.NOW_PLAYING)).append(',');
+        sb.append("publisher=").append(values.get(Meta.PUBLISHER)).append(',');
+        sb.append("encodedBy=").append(values.get(Meta.ENCODED_BY)).append(',');
+        sb.append("artworkUrl=").append(values.get(Meta.ARTWORK_URL)).append(',');
+        sb.append("trackId=").append(values.get(Meta.TRACK_ID)).append(',');
+        sb.append("trackTotal=").append(values.get(Meta.TRACK_TOTAL)).append(',');
+        sb.append("director=").append(values.get(Meta.DIRECTOR)).append(',');
+        sb.append("season=").append(values.get(Meta.SEASON)).append(',');
+        sb.append("episode=").append(values.get(Meta.EPISODE)).append(',');
+        sb.append("showName=").append(values.get(Meta.SHOW_NAME)).append(',');
+        sb.append("actors=").append(values.get(Meta.ACTORS)).append(',');
+        sb.append("albumArtist=").append(values.get(Meta.ALBUM_ARTIST)).append(',');
+        sb.append("discNumber=").append(values.get(Meta.DISC_NUMBER)).append(',');
         sb.append("length=").append(getLength()).append(']');
         return sb.toString();
     }
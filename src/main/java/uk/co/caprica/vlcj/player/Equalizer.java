@@ -35,6 +35,22 @@ import uk.co.caprica.vlcj.player.base.MediaPlayer;
  * to be thrown.
  * <p>
  * After creating an equalizer, it may be associated with a media player.
+ * <p>
+ * Each change to the equalizer notifies the listeners, and so causes any associated media
+ * players to update their native equalizer. When changing several values together, use
+ * {@link #beginUpdate()} and {@link #commitUpdate()} so that the listeners are notified only
+ * once:
+ * <pre>
+ *   equalizer.beginUpdate();
+ *   try {
+ *       equalizer.setPreamp(preamp);
+ *       equalizer.setAmp(0, bass);
+ *       equalizer.setAmp(1, lowMid);
+ *   }
+ *   finally {
+ *       equalizer.commitUpdate();
+ *   }
+ * </pre>
  *
  * @see MediaPlayer#setEqualizer(Equalizer)
  */
@@ -60,6 +76,16 @@ public final class Equalizer {
      */
     private final float[] bandAmps;
 
+    /**
+     * Number of updates currently in progress, see {@link #beginUpdate()}.
+     */
+    private int updateDepth;
+
+    /**
+     * Flag whether or not any value changed during the current update.
+     */
+    private boolean updateChanged;
+
     /**
      * Create an audio equalizer.
      *
@@ -98,6 +124,32 @@ public final class Equalizer {
         return bandCount;
     }
 
+    /**
+     * Begin an update.
+     * <p>
+     * Until the matching {@link #commitUpdate()}, changes are made as usual but listeners are not
+     * notified. Updates may be nested, listeners are notified once when the outermost update is
+     * committed (and only if something actually changed).
+     */
+    public final void beginUpdate() {
+        updateDepth++;
+    }
+
+    /**
+     * Commit an update started by {@link #beginUpdate()}.
+     *
+     * @throws IllegalStateException if there is no update in progress
+     */
+    public final void commitUpdate() {
+        if(updateDepth == 0) {
+            throw new IllegalStateException("No update in progress");
+        }
+        if(--updateDepth == 0 && updateChanged) {
+            updateChanged = false;
+            fireEqualizerChanged();
+        }
+    }
+
     /**
      * Get the current pre-amplification value.
      *
@@ -233,11 +285,15 @@ public final class Equalizer {
     }
 
     /**
-     * Fire an event notification signifying that the pre-amplification value changed.
-     *
-     * @param preamp new pre-amplification value
+     * Fire an event notification signifying that the equalizer changed.
+     * <p>
+     * If an update is in progress, the notification is deferred until the update is committed.
      */
     private void fireEqualizerChanged() {
+        if(updateDepth > 0) {
+            updateChanged = true;
+            return;
+        }
         for(EqualizerListener listener : listeners) {
             listener.equalizerChanged(this);
         }
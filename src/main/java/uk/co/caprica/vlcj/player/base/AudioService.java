@@ -2,14 +2,22 @@ package uk.co.caprica.vlcj.player.base;
 
 import uk.co.caprica.vlcj.binding.NativeString;
 import uk.co.caprica.vlcj.binding.internal.libvlc_audio_output_device_t;
-import uk.co.caprica.vlcj.binding.internal.libvlc_equalizer_t;
 import uk.co.caprica.vlcj.player.*;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 public final class AudioService extends BaseService implements EqualizerListener {
 
+    /**
+     * Default minimum interval between equalizer updates, in milliseconds.
+     */
+    private static final long DEFAULT_EQUALIZER_INTERVAL = 40;
+
     /**
      * Audio equalizer.
      *
@@ -18,9 +26,44 @@ public final class AudioService extends BaseService implements EqualizerListener
     private Equalizer equalizer;
 
     /**
-     * Native audio equalizer instance.
+     * Native audio equalizer, shared with other media players using the same equalizer.
+     */
+    private NativeEqualizer nativeEqualizer;
+
+    /**
+     * Minimum interval between equalizer updates, in nanoseconds.
      */
-    private libvlc_equalizer_t equalizerInstance;
+    private long equalizerIntervalNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_EQUALIZER_INTERVAL);
+
+    /**
+     * Time that the equalizer was last applied to the native media player.
+     */
+    private long equalizerAppliedNanos;
+
+    /**
+     * Flag whether or not a deferred equalizer update is scheduled.
+     */
+    private boolean equalizerUpdatePending;
+
+    /**
+     * Flag whether or not this service has been released.
+     */
+    private boolean released;
+
+    /**
+     * Task used to apply a deferred equalizer update.
+     */
+    private final Runnable applyEqualizerTask = new Runnable() {
+        @Override
+        public void run() {
+            synchronized (AudioService.this) {
+                equalizerUpdatePending = false;
+                if (!released) {
+                    applyEqualizer();
+                }
+            }
+        }
+    };
 
     AudioService(DefaultMediaPlayer mediaPlayer) {
         super(mediaPlayer);
@@ -192,42 +235,70 @@ public final class AudioService extends BaseService implements EqualizerListener
 
     /**
      * Set the audio equalizer.
+     * <p>
+     * The same equalizer may be set on any number of media players, they will share a single native equalizer.
      *
      * @param equalizer equalizer, or <code>null</code> to disable the audio equalizer
      */
-    public void setEqualizer(Equalizer equalizer) {
+    public synchronized void setEqualizer(Equalizer equalizer) {
         if (this.equalizer != null) {
             this.equalizer.removeEqualizerListener(this);
-            libvlc.libvlc_audio_equalizer_release(equalizerInstance);
-            equalizerInstance = null;
+            NativeEqualizer.release(this.equalizer);
+            nativeEqualizer = null;
         }
         this.equalizer = equalizer;
         if (this.equalizer != null) {
-            equalizerInstance = libvlc.libvlc_audio_equalizer_new();
+            nativeEqualizer = NativeEqualizer.acquire(libvlc, this.equalizer);
             this.equalizer.addEqualizerListener(this);
         }
         applyEqualizer();
     }
 
+    /**
+     * Set the minimum interval between equalizer updates.
+     * <p>
+     * Changes to the equalizer are applied to the native media player immediately, unless the previous change was applied
+     * less than this interval ago - in which case the change is deferred until the interval has elapsed, and any further
+     * changes made in the meantime are applied together. This prevents e.g. dragging an equalizer slider from flooding
+     * the native media player with updates.
+     * <p>
+     * The default interval is 40 milliseconds.
+     *
+     * @param interval minimum interval, in milliseconds, or zero to apply every change immediately
+     */
+    public synchronized void setEqualizerUpdateInterval(long interval) {
+        this.equalizerIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, interval));
+    }
+
     @Override
-    public final void equalizerChanged(Equalizer equalizer) {
-        applyEqualizer();
+    public final synchronized void equalizerChanged(Equalizer equalizer) {
+        if (equalizerUpdatePending || released) {
+            return;
+        }
+        long delay = equalizerAppliedNanos + equalizerIntervalNanos - System.nanoTime();
+        if (equalizerIntervalNanos == 0 || delay <= 0) {
+            applyEqualizer();
+        }
+        else {
+            equalizerUpdatePending = true;
+            EqualizerScheduler.INSTANCE.schedule(applyEqualizerTask, delay, TimeUnit.NANOSECONDS);
+        }
     }
 
     /**
      * Apply the audio equalizer settings to the native media player.
+     * <p>
+     * Only those settings that changed since the shared native equalizer was last updated are pushed to the native
+     * equalizer.
      */
     private void applyEqualizer() {
-        if (equalizerInstance != null) {
-            libvlc.libvlc_audio_equalizer_set_preamp(equalizerInstance, equalizer.getPreamp());
-            for(int i = 0; i < libvlc.libvlc_audio_equalizer_get_band_count(); i ++ ) {
-                libvlc.libvlc_audio_equalizer_set_amp_at_index(equalizerInstance, equalizer.getAmp(i), i);
-            }
-            libvlc.libvlc_media_player_set_equalizer(mediaPlayerInstance, equalizerInstance);
+        if (nativeEqualizer != null) {
+            libvlc.libvlc_media_player_set_equalizer(mediaPlayerInstance, nativeEqualizer.update(equalizer));
         }
         else {
             libvlc.libvlc_media_player_set_equalizer(mediaPlayerInstance, null);
         }
+        equalizerAppliedNanos = System.nanoTime();
     }
 
     /**
@@ -280,8 +351,27 @@ public final class AudioService extends BaseService implements EqualizerListener
     }
 
     @Override
-    protected void release() {
+    protected synchronized void release() {
         setEqualizer(null);
+        released = true;
+    }
+
+    /**
+     * Holder for the scheduler used to apply deferred equalizer updates for all media players.
+     */
+    private static class EqualizerScheduler {
+
+        /**
+         * Singleton instance.
+         */
+        private static final ScheduledExecutorService INSTANCE = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "vlcj-equalizer");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
     }
 
 }
@@ -1,5 +1,7 @@
 package uk.co.caprica.vlcj.player.base;
 
+import java.util.concurrent.Future;
+
 public final class ControlsService extends BaseService {
 
     ControlsService(DefaultMediaPlayer mediaPlayer) {
@@ -12,6 +14,7 @@ public final class ControlsService extends BaseService {
      * If called when the play-back is paused, the play-back will resume from the current position.
      */
     public void play() {
+        mediaPlayer.playRequested();
         mediaPlayer.onBeforePlay();
         libvlc.libvlc_media_player_play(mediaPlayerInstance);
     }
@@ -38,6 +41,28 @@ public final class ControlsService extends BaseService {
         libvlc.libvlc_media_player_stop(mediaPlayerInstance);
     }
 
+    /**
+     * Stop play-back in the background.
+     * <p>
+     * Stopping can block for some time, for example while a network stream is closed. This method does not wait, the
+     * native stop is done on a separate reaper thread instead.
+     * <p>
+     * The stop is always finished before a subsequent release of the media player, but there is no ordering between
+     * the stop and anything else done to this media player - so, other than releasing it, the media player should not
+     * be used again until the returned future has completed.
+     *
+     * @return future that completes when play-back has stopped
+     * @throws IllegalStateException if the media player has been released
+     */
+    public Future<Void> stopAsync() {
+        return mediaPlayer.teardown(new Runnable() {
+            @Override
+            public void run() {
+                stop();
+            }
+        });
+    }
+
     /**
      * Pause/resume.
      *
@@ -23,10 +23,16 @@ package uk.co.caprica.vlcj.player.base;
 
 import uk.co.caprica.vlcj.binding.LibVlc;
 import uk.co.caprica.vlcj.binding.internal.*;
+import uk.co.caprica.vlcj.enums.State;
+import uk.co.caprica.vlcj.player.executor.Reaper;
+import uk.co.caprica.vlcj.player.executor.SerialExecutor;
+import uk.co.caprica.vlcj.player.executor.SharedExecutor;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 // FIXME
 //  still need to think about what Interfaces i actually need (e.g. vlcj-pro impact is currently unknown)
@@ -59,36 +65,102 @@ public abstract class DefaultMediaPlayer implements MediaPlayer {
     private final libvlc_media_player_t mediaPlayerInstance;
 
     /**
-     * Single-threaded service to execute tasks that need to be off-loaded from a native callback thread.
+     * Serial executor to execute tasks that need to be off-loaded from a native callback thread.
      * <p>
      * Native events are generated on a native event callback thread. It is not allowed to call back into LibVLC from
      * this thread, if you do either the call will be ineffective, strange behaviour will happen, or a fatal JVM crash
      * may occur.
      * <p>
-     * To mitigate this, tasks can be serialised and executed using this service.
+     * To mitigate this, tasks can be serialised and executed using this executor.
+     * <p>
+     * Tasks for this player are executed in order, but the threads that execute them are shared with all other media
+     * players, see {@link SharedExecutor}.
      * <p>
      * See {@link #submit(Runnable)}.
      */
-    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final SerialExecutor executor = SharedExecutor.newSerialExecutor();
+
+    /**
+     * Flag whether or not this media player has been released (or is being released).
+     */
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    /**
+     * Serial executor used for background teardown (asynchronous stop and release), so that teardowns of this media
+     * player never run concurrently with each other.
+     */
+    private final SerialExecutor teardownExecutor = Reaper.newSerialExecutor();
+
+    /**
+     * Lock used to order background teardowns with release.
+     */
+    private final Object teardownLock = new Object();
+
+    /**
+     * Future for the most recently submitted background teardown, guarded by {@link #teardownLock}.
+     * <p>
+     * Teardowns run in order, so when this completes all earlier teardowns have completed too.
+     */
+    private Future<Void> lastTeardown;
 
-    private final AudioService      audioService;
-    private final ChapterService    chapterService;
-    private final ControlsService   controlsService;
+    /**
+     * Event and user data services are always needed (the event service registers the native event callback and the
+     * handlers used by the internal implementation), so they are created with the media player.
+     */
     private final EventService      eventService;
-    private final LogoService       logoService;
-    private final MarqueeService    marqueeService;
-    private final MediaService      mediaService;
-    private final MenuService       menuService;
-    private final RoleService       roleService;
-    private final SlaveService      slaveService;
-    private final SnapshotService   snapshotService;
-    private final StatusService     statusService;
-    private final SubItemService    subItemService;
-    private final SubpictureService subpictureService;
-    private final TeletextService   teletextService;
-    private final TitleService      titleService;
     private final UserDataService   userDataService;
-    private final VideoService      videoService;
+
+    /**
+     * Start-up timings.
+     */
+    private final StartupTimings startupTimings = new StartupTimings();
+
+    /**
+     * Flag whether or not start-up timings are recorded.
+     */
+    private volatile boolean startupTimingsEnabled;
+
+    /**
+     * Lock used when creating services on demand.
+     */
+    private final Object serviceLock = new Object();
+
+    /**
+     * Flag whether or not the services have been released, after which no more services may be created.
+     * <p>
+     * Guarded by {@link #serviceLock}.
+     */
+    private boolean servicesReleased;
+
+    /**
+     * Identifiers for the services that are created on demand, each is an index into {@link #services}.
+     */
+    private static final int AUDIO       = 0;
+    private static final int CHAPTERS    = 1;
+    private static final int CONTROLS    = 2;
+    private static final int LOGO        = 3;
+    private static final int MEDIA       = 4;
+    private static final int MARQUEE     = 5;
+    private static final int MENU        = 6;
+    private static final int ROLE        = 7;
+    private static final int SLAVE       = 8;
+    private static final int SNAPSHOTS   = 9;
+    private static final int STATUS      = 10;
+    private static final int SUB_ITEMS   = 11;
+    private static final int SUBPICTURES = 12;
+    private static final int TELETEXT    = 13;
+    private static final int TITLES      = 14;
+    private static final int VIDEO       = 15;
+
+    private static final int SERVICE_COUNT = 16;
+
+    /**
+     * All other services are created on first access, many applications (e.g. headless players) never use most of
+     * them.
+     * <p>
+     * See {@link #service(int)}.
+     */
+    private final AtomicReferenceArray<BaseService> services = new AtomicReferenceArray<BaseService>(SERVICE_COUNT);
 
     /**
      * Create a new media player.
@@ -102,24 +174,8 @@ public abstract class DefaultMediaPlayer implements MediaPlayer {
 
         this.mediaPlayerInstance = newNativeMediaPlayer();
 
-        audioService      = new AudioService     (this);
-        chapterService    = new ChapterService   (this);
-        controlsService   = new ControlsService  (this);
         eventService      = new EventService     (this);
-        logoService       = new LogoService      (this);
-        marqueeService    = new MarqueeService   (this);
-        mediaService      = new MediaService     (this);
-        menuService       = new MenuService      (this);
-        roleService       = new RoleService      (this);
-        slaveService      = new SlaveService     (this);
-        snapshotService   = new SnapshotService  (this);
-        statusService     = new StatusService    (this);
-        subItemService    = new SubItemService   (this);
-        subpictureService = new SubpictureService(this);
-        teletextService   = new TeletextService  (this);
-        titleService      = new TitleService     (this);
         userDataService   = new UserDataService  (this);
-        videoService      = new VideoService     (this);
     }
 
     private libvlc_media_player_t newNativeMediaPlayer() {
@@ -133,17 +189,17 @@ public abstract class DefaultMediaPlayer implements MediaPlayer {
 
     @Override
     public AudioService audio() {
-        return audioService;
+        return (AudioService) service(AUDIO);
     }
 
     @Override
     public ChapterService chapters() {
-        return chapterService;
+        return (ChapterService) service(CHAPTERS);
     }
 
     @Override
     public ControlsService controls() {
-        return controlsService;
+        return (ControlsService) service(CONTROLS);
     }
 
     @Override
@@ -153,99 +209,300 @@ public abstract class DefaultMediaPlayer implements MediaPlayer {
 
     @Override
     public LogoService logo() {
-        return logoService;
+        return (LogoService) service(LOGO);
     }
 
     @Override
     public MediaService media() {
-        return mediaService;
+        return (MediaService) service(MEDIA);
     }
 
     @Override
     public MarqueeService marquee() {
-        return marqueeService;
+        return (MarqueeService) service(MARQUEE);
     }
 
     @Override
     public MenuService menu() {
-        return menuService;
+        return (MenuService) service(MENU);
     }
 
     @Override
     public RoleService role() {
-        return roleService;
+        return (RoleService) service(ROLE);
     }
 
     @Override
     public SlaveService slave() {
-        return slaveService;
+        return (SlaveService) service(SLAVE);
     }
 
     @Override
     public SnapshotService snapshots() {
-        return snapshotService;
+        return (SnapshotService) service(SNAPSHOTS);
     }
 
     @Override
     public StatusService status() {
-        return statusService;
+        return (StatusService) service(STATUS);
     }
 
     @Override
     public SubItemService subItems() {
-        return subItemService;
+        return (SubItemService) service(SUB_ITEMS);
     }
 
     @Override
     public SubpictureService subpictures() {
-        return subpictureService;
+        return (SubpictureService) service(SUBPICTURES);
     }
 
     @Override
     public TeletextService teletext() {
-        return teletextService;
+        return (TeletextService) service(TELETEXT);
     }
 
     @Override
     public TitleService titles() {
-        return titleService;
+        return (TitleService) service(TITLES);
     }
 
     @Override
     public VideoService video() {
-        return videoService;
+        return (VideoService) service(VIDEO);
+    }
+
+    /**
+     * Get a service, creating it if it does not exist yet.
+     *
+     * @param id service identifier
+     * @return service
+     * @throws IllegalStateException if the media player has been released
+     */
+    private BaseService service(int id) {
+        if (released.get()) {
+            throw new IllegalStateException("Media player has been released");
+        }
+        BaseService result = services.get(id);
+        if (result == null) {
+            synchronized (serviceLock) {
+                if (servicesReleased) {
+                    throw new IllegalStateException("Media player has been released");
+                }
+                result = services.get(id);
+                if (result == null) {
+                    result = newService(id);
+                    services.set(id, result);
+                }
+            }
+        }
+        return result;
+    }
+
+    private BaseService newService(int id) {
+        switch (id) {
+            case AUDIO:
+                return new AudioService(this);
+            case CHAPTERS:
+                return new ChapterService(this);
+            case CONTROLS:
+                return new ControlsService(this);
+            case LOGO:
+                return new LogoService(this);
+            case MEDIA:
+                return new MediaService(this);
+            case MARQUEE:
+                return new MarqueeService(this);
+            case MENU:
+                return new MenuService(this);
+            case ROLE:
+                return new RoleService(this);
+            case SLAVE:
+                return new SlaveService(this);
+            case SNAPSHOTS:
+                return new SnapshotService(this);
+            case STATUS:
+                return new StatusService(this);
+            case SUB_ITEMS:
+                return new SubItemService(this);
+            case SUBPICTURES:
+                return new SubpictureService(this);
+            case TELETEXT:
+                return new TeletextService(this);
+            case TITLES:
+                return new TitleService(this);
+            case VIDEO:
+                return new VideoService(this);
+            default:
+                throw new IllegalArgumentException("Unknown service " + id);
+        }
+    }
+
+    @Override
+    public final synchronized void setStartupTimingsEnabled(boolean enabled) {
+        if (enabled != startupTimingsEnabled) {
+            startupTimingsEnabled = enabled;
+            if (enabled) {
+                eventService.addMediaPlayerEventListener(startupTimings.eventHandler());
+            }
+            else {
+                eventService.removeMediaPlayerEventListener(startupTimings.eventHandler());
+            }
+        }
+    }
+
+    @Override
+    public final StartupTimings startupTimings() {
+        return startupTimings;
+    }
+
+    /**
+     * Invoked when play-back is requested, to begin a new start-up trace.
+     * <p>
+     * Play is also used to resume paused play-back, that is not a start-up and must not be recorded as one.
+     */
+    final void playRequested() {
+        if (startupTimingsEnabled && State.state(libvlc.libvlc_media_player_get_state(mediaPlayerInstance)) != State.PAUSED) {
+            startupTimings.started(finalStartupStage());
+        }
+    }
+
+    /**
+     * Provided to enable sub-classes to set the stage that ends a start-up trace.
+     * <p>
+     * The base implementation ends the trace when play-back starts.
+     *
+     * @return final start-up stage
+     */
+    protected StartupStage finalStartupStage() {
+        return StartupStage.PLAYING;
+    }
+
+    /**
+     * Provided to enable sub-classes that render video via callbacks to mark the display of a video frame, so that the
+     * time to the first frame can be included in the start-up timings.
+     * <p>
+     * This is cheap enough to invoke for every frame.
+     */
+    protected final void frameDisplayed() {
+        if (startupTimingsEnabled) {
+            startupTimings.reached(StartupStage.FIRST_FRAME);
+        }
     }
 
     @Override
     public final void release() {
+        Future<Void> pending;
+        synchronized (teardownLock) {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            pending = lastTeardown;
+        }
         shutdownExecutor();
+        // An asynchronous stop may still be running on a reaper thread, the native media player must not be freed under it
+        awaitTeardown(pending);
+        releaseResources();
+    }
+
+    @Override
+    public final Future<Void> releaseAsync() {
+        synchronized (teardownLock) {
+            if (!released.compareAndSet(false, true)) {
+                return Reaper.completed();
+            }
+            // Refuse new tasks and discard pending tasks now, without waiting for a running task to finish
+            discardTasks();
+            return lastTeardown = Reaper.submit(teardownExecutor, new Runnable() {
+                @Override
+                public void run() {
+                    shutdownExecutor();
+                    releaseResources();
+                }
+            });
+        }
+    }
+
+    /**
+     * Submit a background teardown task for this media player, run in order with any other teardown tasks.
+     *
+     * @param task task to run
+     * @return future that completes when the task has finished
+     * @throws IllegalStateException if the media player has been released
+     */
+    final Future<Void> teardown(Runnable task) {
+        synchronized (teardownLock) {
+            if (released.get()) {
+                throw new IllegalStateException("Media player has been released");
+            }
+            return lastTeardown = Reaper.submit(teardownExecutor, task);
+        }
+    }
+
+    /**
+     * Has this media player been released?
+     *
+     * @return <code>true</code> if release has started; <code>false</code> otherwise
+     */
+    final boolean isReleased() {
+        return released.get();
+    }
+
+    private void awaitTeardown(Future<Void> teardown) {
+        if (teardown == null) {
+            return;
+        }
+        boolean interrupted = false;
+        while (true) {
+            try {
+                teardown.get();
+                break;
+            }
+            catch (InterruptedException e) {
+                interrupted = true;
+            }
+            catch (ExecutionException e) {
+                break;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
 
+    /**
+     * Free the services and the native media player.
+     * <p>
+     * The executor must already have been shut down.
+     */
+    private void releaseResources() {
         onBeforeRelease();
 
-        audioService     .release();
-        chapterService   .release();
-        controlsService  .release();
+        synchronized (serviceLock) {
+            servicesReleased = true;
+        }
+        for (int id = 0; id < SERVICE_COUNT; id++) {
+            release(services.get(id));
+        }
         eventService     .release();
-        logoService      .release();
-        marqueeService   .release();
-        mediaService     .release();
-        menuService      .release();
-        roleService      .release();
-        slaveService     .release();
-        snapshotService  .release();
-        statusService    .release();
-        subItemService   .release();
-        subpictureService.release();
-        teletextService  .release();
-        titleService     .release();
         userDataService  .release();
-        videoService     .release();
 
         libvlc.libvlc_media_player_release(mediaPlayerInstance);
 
         onAfterRelease();
     }
 
+    /**
+     * Release a service, if it was ever created.
+     *
+     * @param service service to release, may be <code>null</code>
+     */
+    private void release(BaseService service) {
+        if (service != null) {
+            service.release();
+        }
+    }
+
     /**
      * Shutdown the task executor service.
      * <p>
@@ -253,18 +510,28 @@ public abstract class DefaultMediaPlayer implements MediaPlayer {
      * queue to be executed (e.g. we do not want to destroy the native media player if a task is running that is going
      * to invoke a call on the native media player).
      * <p>
-     * So, we first shutdown the executor service then await termination of all tasks. If there are no pending tasks we
-     * will terminate immediately as normal. If there are tasks, we wait for a short timeout period before forcing a
-     * termination anyway.
+     * So, we first shutdown the executor, discarding any pending tasks, then await completion of any running task. If
+     * there is no running task we will terminate immediately as normal. If there is, we wait for a short timeout period
+     * before carrying on anyway.
      * <p>
      * We should never really be waiting any significant amount of time for the queued tasks to terminate because they
      * will be very few in number, and should execute very quickly anyway. Even the short wait before timeout may be
      * useful to avoid any hard crashes during clean-up.
      */
     private void shutdownExecutor() {
-        executor.shutdownNow();
         try {
-            executor.awaitTermination(5, TimeUnit.SECONDS);
+            executor.shutdown(5, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException e) {
+        }
+    }
+
+    /**
+     * Shutdown the task executor service without waiting for a running task to finish.
+     */
+    private void discardTasks() {
+        try {
+            executor.shutdown(0, TimeUnit.SECONDS);
         }
         catch (InterruptedException e) {
         }
@@ -277,7 +544,7 @@ public abstract class DefaultMediaPlayer implements MediaPlayer {
      */
     @Override
     public final void submit(Runnable r) {
-        executor.submit(r);
+        executor.execute(r);
     }
 
     /**
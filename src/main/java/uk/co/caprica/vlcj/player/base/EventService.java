@@ -89,7 +89,8 @@ public final class EventService extends BaseService {
      * @param mediaPlayerEvent event to raise, may be <code>null</code> and if so will be ignored
      */
     void raiseEvent(MediaPlayerEvent mediaPlayerEvent) {
-        if (mediaPlayerEvent != null) {
+        // Once release has started the media player must not be used, so neither must any listener be told about it
+        if (mediaPlayerEvent != null && !mediaPlayer.isReleased()) {
             for (MediaPlayerEventListener listener : eventListenerList) {
                 mediaPlayerEvent.notify(listener);
             }
@@ -23,6 +23,8 @@ import uk.co.caprica.vlcj.binding.internal.libvlc_media_player_t;
 import uk.co.caprica.vlcj.component.EmbeddedMediaPlayerComponent;
 import uk.co.caprica.vlcj.player.MediaPlayerEventListener;
 
+import java.util.concurrent.Future;
+
 /**
  * Specification for a media player component.
  * <p>
@@ -188,11 +190,48 @@ public interface MediaPlayer {
 
     VideoService video();
 
+    /**
+     * Enable or disable recording of start-up timings.
+     * <p>
+     * Timings are disabled by default.
+     *
+     * @param enabled <code>true</code> to record timings; <code>false</code> otherwise
+     */
+    void setStartupTimingsEnabled(boolean enabled);
+
+    /**
+     * Get the start-up timings for this media player.
+     *
+     * @return start-up timings, never <code>null</code>
+     */
+    StartupTimings startupTimings();
+
     /**
      * Release the media player, freeing all associated (including native) resources.
+     * <p>
+     * If an asynchronous stop is still in progress, this method waits for it to finish first.
      */
     void release();
 
+    /**
+     * Release the media player in the background.
+     * <p>
+     * Releasing a native media player can block for some time, for example while a network stream is closed. This
+     * method does not wait, the native resources are freed on a separate reaper thread instead.
+     * <p>
+     * The media player is unusable as soon as this method is invoked: pending tasks are discarded, new tasks are refused,
+     * no more events are sent to listeners, and the service accessors (e.g. {@link #controls()}) throw
+     * {@link IllegalStateException}. A service obtained <em>before</em> the release must not be used again either, its
+     * methods call straight into the native media player and are not checked. The {@link #events()} and
+     * {@link #userData()} accessors do not touch the native media player and remain available, e.g. to remove listeners.
+     * <p>
+     * The release is done after any outstanding asynchronous stop has finished. Any clean-up done by a media player
+     * implementation as part of the release is also done on the reaper thread.
+     *
+     * @return future that completes when the native resources have been freed
+     */
+    Future<Void> releaseAsync();
+
     /**
      *
      *
@@ -0,0 +1,116 @@
+package uk.co.caprica.vlcj.player.base;
+
+import uk.co.caprica.vlcj.binding.LibVlc;
+import uk.co.caprica.vlcj.binding.internal.libvlc_equalizer_t;
+import uk.co.caprica.vlcj.player.Equalizer;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Native equalizer instance shared by all media players that use the same {@link Equalizer}.
+ * <p>
+ * The values most recently pushed to the native equalizer are remembered so that an update only needs to push the
+ * values that actually changed. A media player must still apply the native equalizer to itself after an update, since
+ * LibVLC copies the equalizer settings when they are applied.
+ */
+final class NativeEqualizer {
+
+    /**
+     * Shared native equalizers, keyed by equalizer identity.
+     */
+    private static final Map<Equalizer, NativeEqualizer> instances = new IdentityHashMap<Equalizer, NativeEqualizer>();
+
+    /**
+     * Native library.
+     */
+    private final LibVlc libvlc;
+
+    /**
+     * Native equalizer instance.
+     */
+    private final libvlc_equalizer_t instance;
+
+    /**
+     * Pre-amplification value last pushed to the native equalizer.
+     */
+    private float preamp;
+
+    /**
+     * Frequency band amplification values last pushed to the native equalizer.
+     */
+    private final float[] amps;
+
+    /**
+     * Flag whether or not any values have been pushed to the native equalizer yet.
+     */
+    private boolean initialised;
+
+    /**
+     * Number of media players using this native equalizer, guarded by the class lock.
+     */
+    private int references;
+
+    private NativeEqualizer(LibVlc libvlc, int bandCount) {
+        this.libvlc = libvlc;
+        this.instance = libvlc.libvlc_audio_equalizer_new();
+        this.amps = new float[bandCount];
+    }
+
+    /**
+     * Get the shared native equalizer for an equalizer, creating it if necessary.
+     * <p>
+     * Each invocation must be matched by an invocation of {@link #release(Equalizer)}.
+     *
+     * @param libvlc native library
+     * @param equalizer equalizer
+     * @return shared native equalizer
+     */
+    static synchronized NativeEqualizer acquire(LibVlc libvlc, Equalizer equalizer) {
+        NativeEqualizer result = instances.get(equalizer);
+        if (result == null) {
+            result = new NativeEqualizer(libvlc, equalizer.getBandCount());
+            instances.put(equalizer, result);
+        }
+        result.references++;
+        return result;
+    }
+
+    /**
+     * Release a reference to the shared native equalizer for an equalizer, freeing the native equalizer when the last
+     * reference is released.
+     *
+     * @param equalizer equalizer
+     */
+    static synchronized void release(Equalizer equalizer) {
+        NativeEqualizer nativeEqualizer = instances.get(equalizer);
+        if (nativeEqualizer != null && --nativeEqualizer.references == 0) {
+            instances.remove(equalizer);
+            nativeEqualizer.libvlc.libvlc_audio_equalizer_release(nativeEqualizer.instance);
+        }
+    }
+
+    /**
+     * Push any changed equalizer values to the native equalizer.
+     *
+     * @param equalizer equalizer to get the values from
+     * @return native equalizer instance
+     */
+    synchronized libvlc_equalizer_t update(Equalizer equalizer) {
+        float newPreamp = equalizer.getPreamp();
+        if (!initialised || newPreamp != preamp) {
+            libvlc.libvlc_audio_equalizer_set_preamp(instance, newPreamp);
+            preamp = newPreamp;
+        }
+        for (int i = 0; i < amps.length; i++) {
+            float newAmp = equalizer.getAmp(i);
+            if (!initialised || newAmp != amps[i]) {
+                libvlc.libvlc_audio_equalizer_set_amp_at_index(instance, newAmp, i);
+                amps[i] = newAmp;
+            }
+        }
+        initialised = true;
+        return instance;
+    }
+
+}
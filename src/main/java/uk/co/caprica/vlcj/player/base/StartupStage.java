@@ -0,0 +1,52 @@
+/*
+ * This file is part of VLCJ.
+ *
+ * VLCJ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * VLCJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with VLCJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2019 Caprica Software Limited.
+ */
+
+package uk.co.caprica.vlcj.player.base;
+
+/**
+ * Stages of media player start-up, measured by {@link StartupTimings}.
+ */
+public enum StartupStage {
+
+    /**
+     * The native media player started opening the media.
+     */
+    OPENING,
+
+    /**
+     * The native media player first reported the buffer was full.
+     */
+    BUFFERED,
+
+    /**
+     * The native media player started playing.
+     */
+    PLAYING,
+
+    /**
+     * The native media player created a video output.
+     */
+    VIDEO_OUTPUT,
+
+    /**
+     * The first video frame was displayed - only for media players that render video via callbacks.
+     */
+    FIRST_FRAME
+
+}
@@ -0,0 +1,236 @@
+/*
+ * This file is part of VLCJ.
+ *
+ * VLCJ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * VLCJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with VLCJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2019 Caprica Software Limited.
+ */
+
+package uk.co.caprica.vlcj.player.base;
+
+import uk.co.caprica.vlcj.player.MediaPlayerEventAdapter;
+import uk.co.caprica.vlcj.player.MediaPlayerEventListener;
+import uk.co.caprica.vlcj.player.timing.LatencyHistogram;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Start-up latency measurements for a {@link MediaPlayer}.
+ * <p>
+ * Each time play-back is requested via {@link ControlsService#play()} a new trace begins, and the time taken to reach
+ * each {@link StartupStage} is recorded - so for example the {@link StartupStage#FIRST_FRAME} histogram gives the
+ * distribution of time-to-first-frame, and comparing it with the earlier stages shows where that time was spent.
+ * <p>
+ * Each stage is recorded at most once per trace, a stage that is never reached (e.g. there is no video output for audio
+ * media) is simply not recorded.
+ * <p>
+ * A trace ends when its final stage is reached - {@link StartupStage#FIRST_FRAME} for media players that render video
+ * via callbacks, {@link StartupStage#VIDEO_OUTPUT} for media players that render video to an embedded surface, and
+ * {@link StartupStage#PLAYING} otherwise - or when play-back stops, finishes or fails, whichever comes first. Events after
+ * the end of a trace are not recorded, so play-back that does not go through {@link ControlsService#play()} (e.g. the
+ * next item started by a native media list player, or a repeat) is not traced.
+ * <p>
+ * Timings are only recorded while enabled, see {@link MediaPlayer#setStartupTimingsEnabled(boolean)}.
+ */
+public final class StartupTimings {
+
+    private static final StartupStage[] STAGES = StartupStage.values();
+
+    /**
+     * Histogram of the elapsed time since play-back was requested, for each stage.
+     */
+    private final LatencyHistogram[] histograms = new LatencyHistogram[STAGES.length];
+
+    /**
+     * Elapsed time since play-back was requested, for each stage of the most recent trace, or -1 if not reached.
+     */
+    private final AtomicLongArray last = new AtomicLongArray(STAGES.length);
+
+    /**
+     * Bit mask of the stages already reached in the current trace.
+     */
+    private final AtomicInteger reached = new AtomicInteger();
+
+    /**
+     * Time the current trace began, or zero if there is no current trace.
+     */
+    private volatile long playNanos;
+
+    /**
+     * Stage that ends the current trace.
+     */
+    private volatile StartupStage finalStage = StartupStage.PLAYING;
+
+    /**
+     * Event listener used to mark the stages reported by native events.
+     */
+    private final MediaPlayerEventListener eventHandler = new StartupEventHandler();
+
+    StartupTimings() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+            last.set(i, -1);
+        }
+    }
+
+    /**
+     * Get the histogram of the elapsed time from the play-back request to a stage.
+     *
+     * @param stage start-up stage
+     * @return histogram, values are in nanoseconds
+     */
+    public LatencyHistogram histogram(StartupStage stage) {
+        return histograms[stage.ordinal()];
+    }
+
+    /**
+     * Get the elapsed time from the play-back request to a stage, for the most recent trace.
+     *
+     * @param stage start-up stage
+     * @return elapsed time, in nanoseconds, or -1 if the stage was not (yet) reached
+     */
+    public long last(StartupStage stage) {
+        return last.get(stage.ordinal());
+    }
+
+    /**
+     * Reset all timings.
+     */
+    public void reset() {
+        playNanos = 0;
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i].reset();
+            last.set(i, -1);
+        }
+    }
+
+    /**
+     * Begin a new trace.
+     *
+     * @param finalStage stage that ends the trace
+     */
+    void started(StartupStage finalStage) {
+        reached.set(0);
+        for (int i = 0; i < STAGES.length; i++) {
+            last.set(i, -1);
+        }
+        this.finalStage = finalStage;
+        playNanos = System.nanoTime();
+    }
+
+    /**
+     * End the current trace, if any.
+     */
+    void ended() {
+        playNanos = 0;
+    }
+
+    /**
+     * Mark a stage as reached, if this is the first time in the current trace.
+     *
+     * @param stage start-up stage
+     */
+    void reached(StartupStage stage) {
+        long start = playNanos;
+        if (start == 0) {
+            return;
+        }
+        int bit = 1 << stage.ordinal();
+        int current;
+        do {
+            current = reached.get();
+            if ((current & bit) != 0) {
+                return;
+            }
+        } while (!reached.compareAndSet(current, current | bit));
+        long elapsed = System.nanoTime() - start;
+        histograms[stage.ordinal()].record(elapsed);
+        last.set(stage.ordinal(), elapsed);
+        if (stage == finalStage) {
+            ended();
+        }
+    }
+
+    /**
+     * Get the event listener used to mark the stages reported by native events.
+     *
+     * @return event listener
+     */
+    MediaPlayerEventListener eventHandler() {
+        return eventHandler;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(200);
+        sb.append(getClass().getSimpleName()).append('[');
+        for (int i = 0; i < STAGES.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(STAGES[i].name().toLowerCase()).append('=').append(histograms[i]);
+        }
+        sb.append(']');
+        return sb.toString();
+    }
+
+    /**
+     * Event listener that marks the stages reported by native events.
+     * <p>
+     * This is invoked on the native event callback thread, and only does a few atomic operations.
+     */
+    private final class StartupEventHandler extends MediaPlayerEventAdapter {
+
+        @Override
+        public void opening(MediaPlayer mediaPlayer) {
+            reached(StartupStage.OPENING);
+        }
+
+        @Override
+        public void buffering(MediaPlayer mediaPlayer, float newCache) {
+            if (newCache >= 100f) {
+                reached(StartupStage.BUFFERED);
+            }
+        }
+
+        @Override
+        public void playing(MediaPlayer mediaPlayer) {
+            reached(StartupStage.PLAYING);
+        }
+
+        @Override
+        public void videoOutput(MediaPlayer mediaPlayer, int newCount) {
+            if (newCount > 0) {
+                reached(StartupStage.VIDEO_OUTPUT);
+            }
+        }
+
+        @Override
+        public void stopped(MediaPlayer mediaPlayer) {
+            ended();
+        }
+
+        @Override
+        public void finished(MediaPlayer mediaPlayer) {
+            ended();
+        }
+
+        @Override
+        public void error(MediaPlayer mediaPlayer) {
+            ended();
+        }
+    }
+
+}
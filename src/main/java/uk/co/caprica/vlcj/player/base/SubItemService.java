@@ -13,8 +13,18 @@ public final class SubItemService extends BaseService {
 
     /**
      * Media list player used to play the sub-items.
+     * <p>
+     * The media list player is a relatively expensive native component with its own task executor, so it is created
+     * only when it is first needed.
      */
-    private final MediaListPlayer mediaListPlayer;
+    private volatile MediaListPlayer mediaListPlayer;
+
+    /**
+     * Flag whether or not this service has been released, after which no media list player may be created.
+     * <p>
+     * Guarded by this service.
+     */
+    private boolean released;
 
     /**
      * Flag whether or not to automatically play media sub-items if there are any.
@@ -23,10 +33,6 @@ public final class SubItemService extends BaseService {
 
     SubItemService(DefaultMediaPlayer mediaPlayer) {
         super(mediaPlayer);
-
-        this.mediaListPlayer = new DefaultMediaListPlayer(libvlc, libvlcInstance);
-
-        mediaListPlayer.mediaPlayer().setMediaPlayer(mediaPlayer);
     }
 
     /**
@@ -42,8 +48,41 @@ public final class SubItemService extends BaseService {
         return this.playSubItems;
     }
 
+    /**
+     * Get the media list player used to play the sub-items, creating it if necessary.
+     *
+     * @return media list player
+     * @throws IllegalStateException if the media player has been released
+     */
     public MediaListPlayer player() {
-        return mediaListPlayer;
+        MediaListPlayer result = mediaListPlayer;
+        if (result == null) {
+            synchronized (this) {
+                result = createPlayer();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Create the media list player if it does not already exist.
+     * <p>
+     * Must be invoked while holding the lock on this service.
+     *
+     * @return media list player
+     * @throws IllegalStateException if the media player has been released
+     */
+    private MediaListPlayer createPlayer() {
+        if (released) {
+            throw new IllegalStateException("Media player has been released");
+        }
+        MediaListPlayer result = mediaListPlayer;
+        if (result == null) {
+            result = new DefaultMediaListPlayer(libvlc, libvlcInstance);
+            result.mediaPlayer().setMediaPlayer(mediaPlayer);
+            mediaListPlayer = result;
+        }
+        return result;
     }
 
     /**
@@ -55,25 +94,46 @@ public final class SubItemService extends BaseService {
      * @param media
      */
     void changeMedia(Media media) {
-        releaseMediaList();
-
-        if (playSubItems) {
-            // Simply setting the media list on a media list player with attached media player will play the list
-            mediaListPlayer.list().setMediaList(media.subitems().get());
+        // The lock is held throughout so the media list player can not be released part-way through
+        synchronized (this) {
+            if (released) {
+                return;
+            }
+
+            releaseMediaList();
+
+            if (playSubItems) {
+                // Simply setting the media list on a media list player with attached media player will play the list
+                createPlayer().list().setMediaList(media.subitems().get());
+            }
         }
     }
 
     private void releaseMediaList() {
-        MediaList oldList = mediaListPlayer.list().getMediaList();
-        if (oldList != null) {
-            oldList.release();
+        // If the media list player was never created there can not be a list to release
+        MediaListPlayer mediaListPlayer = this.mediaListPlayer;
+        if (mediaListPlayer != null) {
+            MediaList oldList = mediaListPlayer.list().getMediaList();
+            if (oldList != null) {
+                oldList.release();
+            }
         }
     }
 
     @Override
     protected void release() {
-        releaseMediaList();
-        mediaListPlayer.release();
+        MediaListPlayer mediaListPlayer;
+        synchronized (this) {
+            if (released) {
+                return;
+            }
+            released = true;
+            releaseMediaList();
+            mediaListPlayer = this.mediaListPlayer;
+        }
+        if (mediaListPlayer != null) {
+            mediaListPlayer.release();
+        }
     }
 
 }
@@ -32,6 +32,7 @@ import uk.co.caprica.vlcj.binding.internal.libvlc_unlock_callback_t;
 import uk.co.caprica.vlcj.binding.internal.libvlc_video_cleanup_cb;
 import uk.co.caprica.vlcj.binding.internal.libvlc_video_format_cb;
 import uk.co.caprica.vlcj.player.base.DefaultMediaPlayer;
+import uk.co.caprica.vlcj.player.base.StartupStage;
 
 import com.sun.jna.Memory;
 import com.sun.jna.Pointer;
@@ -62,6 +63,11 @@ public class DefaultDirectMediaPlayer extends DefaultMediaPlayer implements Dire
      */
     private final Logger logger = LoggerFactory.getLogger(DefaultDirectMediaPlayer.class);
 
+    /**
+     * Picture identifier returned from the lock callback for a frame that will not be delivered.
+     */
+    private static final long SKIPPED_PICTURE = 1;
+
     /**
      * Use a semaphore with a single permit to ensure that the lock, display, unlock cycle goes in a
      * serial manner.
@@ -129,6 +135,33 @@ public class DefaultDirectMediaPlayer extends DefaultMediaPlayer implements Dire
      */
     private Memory[] nativeBuffers;
 
+    /**
+     * Native memory buffers used to decode frames that will not be delivered, one for each plane.
+     * <p>
+     * Only allocated if needed.
+     */
+    private Memory[] scratchBuffers;
+
+    /**
+     * Component that decides which frames to deliver, <code>null</code> to deliver every frame.
+     */
+    private volatile FrameSampler frameSampler;
+
+    /**
+     * Flag if frames should be skipped rather than waiting while the buffers are locked.
+     */
+    private volatile boolean latestFrameOnly;
+
+    /**
+     * Frame timing measurements.
+     */
+    private final FrameTimings frameTimings = new FrameTimings();
+
+    /**
+     * Flag if frame timings should be recorded.
+     */
+    private volatile boolean frameTimingsEnabled;
+
     /**
      * Create a new media player.
      * <p>
@@ -189,12 +222,48 @@ public class DefaultDirectMediaPlayer extends DefaultMediaPlayer implements Dire
         semaphore.release();
     }
 
+    @Override
+    public final void setFrameSampler(FrameSampler frameSampler) {
+        this.frameSampler = frameSampler;
+    }
+
+    @Override
+    public final void setLatestFrameOnly(boolean latestFrameOnly) {
+        this.latestFrameOnly = latestFrameOnly;
+    }
+
+    @Override
+    public final void setFrameTimingsEnabled(boolean enabled) {
+        this.frameTimingsEnabled = enabled;
+    }
+
+    @Override
+    public final FrameTimings frameTimings() {
+        return frameTimings;
+    }
+
+    private Memory[] allocateBuffers(int[] pitchValues, int[] lineValues) {
+        // Memory must be aligned correctly (on a 32-byte boundary) for the libvlc
+        // API functions (extra bytes are allocated to allow for enough memory if
+        // the alignment needs to be changed)
+        Memory[] buffers = new Memory[pitchValues.length];
+        for(int i = 0; i < pitchValues.length; i ++ ) {
+            buffers[i] = new Memory(pitchValues[i] * lineValues[i] + 32).align(32);
+        }
+        return buffers;
+    }
+
     /**
      * Implementation of a callback invoked by the native library to set up the
      * required video buffer characteristics.
      *
      * This callback is invoked when the video format changes.
      */
+    @Override
+    protected final StartupStage finalStartupStage() {
+        return StartupStage.FIRST_FRAME;
+    }
+
     private final class SetupCallback implements libvlc_video_format_cb {
         @Override
         public int format(PointerByReference opaque, PointerByReference chroma, IntByReference width, IntByReference height, PointerByReference pitches, PointerByReference lines) {
@@ -215,13 +284,8 @@ public class DefaultDirectMediaPlayer extends DefaultMediaPlayer implements Dire
             int[] lineValues = bufferFormat.getLines();
             pitches.getPointer().write(0, pitchValues, 0, pitchValues.length);
             lines.getPointer().write(0, lineValues, 0, lineValues.length);
-            // Memory must be aligned correctly (on a 32-byte boundary) for the libvlc
-            // API functions (extra bytes are allocated to allow for enough memory if
-            // the alignment needs to be changed)
-            nativeBuffers = new Memory[bufferFormat.getPlaneCount()];
-            for(int i = 0; i < bufferFormat.getPlaneCount(); i ++ ) {
-                nativeBuffers[i] = new Memory(pitchValues[i] * lineValues[i] + 32).align(32);
-            }
+            nativeBuffers = allocateBuffers(pitchValues, lineValues);
+            scratchBuffers = null;
             logger.trace("format finished");
             return pitchValues.length;
         }
@@ -240,6 +304,7 @@ public class DefaultDirectMediaPlayer extends DefaultMediaPlayer implements Dire
             if(nativeBuffers != null) {
                 nativeBuffers = null;
             }
+            scratchBuffers = null;
             logger.trace("cleanup finished");
         }
     }
@@ -254,15 +319,46 @@ public class DefaultDirectMediaPlayer extends DefaultMediaPlayer implements Dire
         @Override
         public Pointer lock(Pointer opaque, PointerByReference planes) {
             logger.trace("lock");
-            // Acquire the single permit from the semaphore to ensure that the
-            // memory buffer is not trashed while display() is invoked
-            logger.trace("acquire");
-            semaphore.acquireUninterruptibly();
-            logger.trace("acquired");
-            // Set the pre-allocated buffers to use for each plane
-            planes.getPointer().write(0, nativeBuffers, 0, nativeBuffers.length);
-            logger.trace("lock finished");
-            return null;
+            boolean timed = frameTimingsEnabled;
+            long requestNanos = timed ? System.nanoTime() : 0;
+            FrameSampler sampler = frameSampler;
+            if(sampler == null || sampler.sample(timed ? requestNanos : System.nanoTime())) {
+                // Acquire the single permit from the semaphore to ensure that the
+                // memory buffer is not trashed while display() is invoked
+                logger.trace("acquire");
+                if(!latestFrameOnly) {
+                    semaphore.acquireUninterruptibly();
+                }
+                else if(!semaphore.tryAcquire()) {
+                    return skipFrame(planes);
+                }
+                logger.trace("acquired");
+                if(timed) {
+                    frameTimings.locked(requestNanos, System.nanoTime());
+                }
+                // Set the pre-allocated buffers to use for each plane
+                planes.getPointer().write(0, nativeBuffers, 0, nativeBuffers.length);
+                logger.trace("lock finished");
+                return null;
+            }
+            else {
+                return skipFrame(planes);
+            }
+        }
+
+        /**
+         * Decode a frame that will not be delivered into the scratch buffers.
+         *
+         * @param planes pointer to receive the buffers for each plane
+         * @return picture identifier marking the frame as skipped
+         */
+        private Pointer skipFrame(PointerByReference planes) {
+            logger.trace("skip");
+            if(scratchBuffers == null) {
+                scratchBuffers = allocateBuffers(bufferFormat.getPitches(), bufferFormat.getLines());
+            }
+            planes.getPointer().write(0, scratchBuffers, 0, scratchBuffers.length);
+            return new Pointer(SKIPPED_PICTURE);
         }
     }
 
@@ -276,6 +372,12 @@ public class DefaultDirectMediaPlayer extends DefaultMediaPlayer implements Dire
         @Override
         public void unlock(Pointer opaque, Pointer picture, Pointer plane) {
             logger.trace("unlock");
+            if(isSkipped(picture)) {
+                return;
+            }
+            if(frameTimingsEnabled) {
+                frameTimings.unlocked(System.nanoTime());
+            }
             // Release the semaphore
             logger.trace("release");
             semaphore.release();
@@ -294,12 +396,25 @@ public class DefaultDirectMediaPlayer extends DefaultMediaPlayer implements Dire
         @Override
         public void display(Pointer opaque, Pointer picture) {
             logger.trace("display");
+            if(isSkipped(picture)) {
+                return;
+            }
+            boolean timed = frameTimingsEnabled;
+            long startNanos = timed ? System.nanoTime() : 0;
             // Invoke the callback
             DefaultDirectMediaPlayer.this.renderCallback.display(DefaultDirectMediaPlayer.this, nativeBuffers, bufferFormat);
+            if(timed) {
+                frameTimings.displayed(startNanos, System.nanoTime());
+            }
+            frameDisplayed();
             logger.trace("display finished");
         }
     }
 
+    private static boolean isSkipped(Pointer picture) {
+        return picture != null && Pointer.nativeValue(picture) == SKIPPED_PICTURE;
+    }
+
     /**
      * Default implementation of a {@link BufferFormatCallback} to provide a single-
      * plane buffer format that matches exactly the specified video characteristics.
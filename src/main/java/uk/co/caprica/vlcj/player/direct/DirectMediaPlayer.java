@@ -58,4 +58,44 @@ public interface DirectMediaPlayer extends MediaPlayer {
      * Unlock the native memory buffers.
      */
     void unlock();
+
+    /**
+     * Set the component that decides which video frames are delivered to the render callback.
+     * <p>
+     * Frames that are not delivered are decoded into separate scratch buffers, so they do not
+     * involve the buffer lock and do not invoke the render callback at all.
+     * <p>
+     * See {@link FrameSamplers} for standard implementations.
+     *
+     * @param frameSampler frame sampler, or <code>null</code> to deliver every frame
+     */
+    void setFrameSampler(FrameSampler frameSampler);
+
+    /**
+     * Set whether or not to skip frames while the application holds the buffer lock.
+     * <p>
+     * Ordinarily if the application holds the lock (see {@link #lock()}) when a new frame is ready to
+     * be decoded, the native video thread waits until the lock is released. Instead, with this
+     * setting enabled, that frame is skipped so when the application releases the lock the next frame
+     * delivered will be the latest one.
+     *
+     * @param latestFrameOnly <code>true</code> to skip frames when the buffers are locked; <code>false</code> to wait
+     */
+    void setLatestFrameOnly(boolean latestFrameOnly);
+
+    /**
+     * Enable or disable recording of frame timings.
+     * <p>
+     * Timings are disabled by default.
+     *
+     * @param enabled <code>true</code> to record timings; <code>false</code> otherwise
+     */
+    void setFrameTimingsEnabled(boolean enabled);
+
+    /**
+     * Get the frame timings for this media player.
+     *
+     * @return frame timings, never <code>null</code>
+     */
+    FrameTimings frameTimings();
 }
@@ -0,0 +1,40 @@
+/*
+ * This file is part of VLCJ.
+ *
+ * VLCJ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * VLCJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with VLCJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2019 Caprica Software Limited.
+ */
+
+package uk.co.caprica.vlcj.player.direct;
+
+/**
+ * Specification for a component that decides which video frames should be processed.
+ * <p>
+ * A sampler instance keeps state, so a separate instance must be used for each media player.
+ * <p>
+ * Standard implementations are provided by {@link FrameSamplers}.
+ */
+public interface FrameSampler {
+
+    /**
+     * Decide whether or not the next video frame should be processed.
+     * <p>
+     * This is invoked once for every video frame, by a native thread, so it must execute quickly.
+     *
+     * @param nanoTime current value of {@link System#nanoTime()}
+     * @return <code>true</code> if the frame should be processed; <code>false</code> if it should be skipped
+     */
+    boolean sample(long nanoTime);
+}
@@ -0,0 +1,199 @@
+/*
+ * This file is part of VLCJ.
+ *
+ * VLCJ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * VLCJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with VLCJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2019 Caprica Software Limited.
+ */
+
+package uk.co.caprica.vlcj.player.direct;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Factory for standard {@link FrameSampler} implementations.
+ */
+public final class FrameSamplers {
+
+    private FrameSamplers() {
+    }
+
+    /**
+     * Create a sampler that processes every frame.
+     *
+     * @return sampler
+     */
+    public static FrameSampler everyFrame() {
+        return new EveryNthFrameSampler(1);
+    }
+
+    /**
+     * Create a sampler that processes one frame in every <code>n</code> frames.
+     *
+     * @param n frame interval
+     * @return sampler
+     */
+    public static FrameSampler everyNthFrame(int n) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("n must be greater than zero");
+        }
+        return new EveryNthFrameSampler(n);
+    }
+
+    /**
+     * Create a sampler that processes at most one frame per time interval.
+     *
+     * @param interval minimum interval between processed frames
+     * @param unit time unit of the interval
+     * @return sampler
+     */
+    public static FrameSampler interval(long interval, TimeUnit unit) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("interval must be greater than zero");
+        }
+        return new IntervalSampler(unit.toNanos(interval));
+    }
+
+    /**
+     * Create a sampler that limits the rate at which frames are processed.
+     * <p>
+     * This is a token bucket that allows a burst of one frame.
+     *
+     * @param fps maximum number of frames per second
+     * @return sampler
+     */
+    public static FrameSampler maxFrameRate(double fps) {
+        return maxFrameRate(fps, 1);
+    }
+
+    /**
+     * Create a sampler that limits the rate at which frames are processed.
+     * <p>
+     * This is a token bucket, so after a quiet period up to <code>burst</code> frames may be
+     * processed back-to-back while still never exceeding the average rate.
+     *
+     * @param fps maximum number of frames per second
+     * @param burst maximum number of frames that may be processed back-to-back
+     * @return sampler
+     */
+    public static FrameSampler maxFrameRate(double fps, int burst) {
+        if (fps <= 0) {
+            throw new IllegalArgumentException("fps must be greater than zero");
+        }
+        if (burst <= 0) {
+            throw new IllegalArgumentException("burst must be greater than zero");
+        }
+        return new TokenBucketSampler((long) (TimeUnit.SECONDS.toNanos(1) / fps), burst);
+    }
+
+    /**
+     * Create a sampler that never processes a frame.
+     * <p>
+     * Useful where frames are only processed when explicitly requested by the application.
+     *
+     * @return sampler
+     */
+    public static FrameSampler never() {
+        return NeverSampler.INSTANCE;
+    }
+
+    private static final class EveryNthFrameSampler implements FrameSampler {
+
+        private final int n;
+
+        private int count;
+
+        private EveryNthFrameSampler(int n) {
+            this.n = n;
+        }
+
+        @Override
+        public boolean sample(long nanoTime) {
+            if (++count >= n) {
+                count = 0;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private static final class IntervalSampler implements FrameSampler {
+
+        private final long intervalNanos;
+
+        private boolean started;
+
+        private long next;
+
+        private IntervalSampler(long intervalNanos) {
+            this.intervalNanos = intervalNanos;
+        }
+
+        @Override
+        public boolean sample(long nanoTime) {
+            if (!started || nanoTime - next >= 0) {
+                started = true;
+                next = nanoTime + intervalNanos;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private static final class TokenBucketSampler implements FrameSampler {
+
+        private final long intervalNanos;
+
+        private final long capacityNanos;
+
+        private boolean started;
+
+        private long last;
+
+        private long tokenNanos;
+
+        private TokenBucketSampler(long intervalNanos, int burst) {
+            this.intervalNanos = intervalNanos;
+            this.capacityNanos = intervalNanos * burst;
+        }
+
+        @Override
+        public boolean sample(long nanoTime) {
+            // Tokens are accumulated in nanoseconds, one frame costs one interval
+            if (!started) {
+                started = true;
+                tokenNanos = intervalNanos;
+            }
+            else {
+                tokenNanos = Math.min(capacityNanos, tokenNanos + (nanoTime - last));
+            }
+            last = nanoTime;
+            if (tokenNanos >= intervalNanos) {
+                tokenNanos -= intervalNanos;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private static final class NeverSampler implements FrameSampler {
+
+        private static final NeverSampler INSTANCE = new NeverSampler();
+
+        @Override
+        public boolean sample(long nanoTime) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * This file is part of VLCJ.
+ *
+ * VLCJ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * VLCJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with VLCJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2019 Caprica Software Limited.
+ */
+
+package uk.co.caprica.vlcj.player.direct;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import uk.co.caprica.vlcj.player.timing.LatencyHistogram;
+
+/**
+ * Timing measurements for the video frames of a {@link DirectMediaPlayer}.
+ * <p>
+ * For each delivered frame the following are recorded:
+ * <ul>
+ *   <li>lock wait - how long the native video thread waited for the buffer lock, i.e. how long the
+ *       application held the lock;</li>
+ *   <li>decode - time between the native lock and unlock callbacks, i.e. how long the native
+ *       library took to fill the buffers;</li>
+ *   <li>display - how long the {@link RenderCallback} took;</li>
+ *   <li>interval - time between the start of consecutive display callbacks.</li>
+ * </ul>
+ * A frame is counted as late if its interval is more than one and a half times the average
+ * interval.
+ * <p>
+ * Timings are only recorded while enabled, see {@link DirectMediaPlayer#setFrameTimingsEnabled(boolean)}.
+ */
+public final class FrameTimings {
+
+    /**
+     * Weight given to the newest interval in the moving average, as a power of two.
+     */
+    private static final int AVERAGE_SHIFT = 4;
+
+    private final LatencyHistogram lockWait = new LatencyHistogram();
+
+    private final LatencyHistogram decode = new LatencyHistogram();
+
+    private final LatencyHistogram display = new LatencyHistogram();
+
+    private final LatencyHistogram interval = new LatencyHistogram();
+
+    private final AtomicLong lateFrames = new AtomicLong();
+
+    /**
+     * Time the buffers were most recently locked.
+     */
+    private volatile long lastLockNanos;
+
+    /**
+     * Time the buffers were most recently unlocked.
+     */
+    private volatile long lastUnlockNanos;
+
+    /**
+     * Time the most recent display callback started.
+     */
+    private volatile long lastDisplayNanos;
+
+    /**
+     * Moving average of the frame interval, in nanoseconds.
+     */
+    private long averageInterval;
+
+    FrameTimings() {
+    }
+
+    void locked(long requestNanos, long acquiredNanos) {
+        lockWait.record(acquiredNanos - requestNanos);
+        lastLockNanos = acquiredNanos;
+    }
+
+    void unlocked(long nanos) {
+        long locked = lastLockNanos;
+        if (locked != 0) {
+            decode.record(nanos - locked);
+        }
+        lastUnlockNanos = nanos;
+    }
+
+    void displayed(long startNanos, long endNanos) {
+        display.record(endNanos - startNanos);
+        long previous = lastDisplayNanos;
+        if (previous != 0) {
+            long elapsed = startNanos - previous;
+            interval.record(elapsed);
+            if (averageInterval == 0) {
+                averageInterval = elapsed;
+            }
+            else {
+                if (elapsed > averageInterval + (averageInterval >> 1)) {
+                    lateFrames.incrementAndGet();
+                }
+                averageInterval += (elapsed - averageInterval) >> AVERAGE_SHIFT;
+            }
+        }
+        lastDisplayNanos = startNanos;
+    }
+
+    /**
+     * Get the histogram of time spent waiting for the buffer lock.
+     *
+     * @return histogram
+     */
+    public LatencyHistogram lockWait() {
+        return lockWait;
+    }
+
+    /**
+     * Get the histogram of time between the native lock and unlock callbacks.
+     *
+     * @return histogram
+     */
+    public LatencyHistogram decode() {
+        return decode;
+    }
+
+    /**
+     * Get the histogram of time spent in the render callback.
+     *
+     * @return histogram
+     */
+    public LatencyHistogram display() {
+        return display;
+    }
+
+    /**
+     * Get the histogram of time between consecutive frames.
+     *
+     * @return histogram
+     */
+    public LatencyHistogram interval() {
+        return interval;
+    }
+
+    /**
+     * Get the number of late frames.
+     *
+     * @return late frame count
+     */
+    public long lateFrames() {
+        return lateFrames.get();
+    }
+
+    /**
+     * Get the time the buffers were most recently locked by the native library.
+     *
+     * @return {@link System#nanoTime()} value, or zero if never
+     */
+    public long lastLockNanos() {
+        return lastLockNanos;
+    }
+
+    /**
+     * Get the time the buffers were most recently unlocked by the native library.
+     *
+     * @return {@link System#nanoTime()} value, or zero if never
+     */
+    public long lastUnlockNanos() {
+        return lastUnlockNanos;
+    }
+
+    /**
+     * Get the time the most recent display callback started.
+     *
+     * @return {@link System#nanoTime()} value, or zero if never
+     */
+    public long lastDisplayNanos() {
+        return lastDisplayNanos;
+    }
+
+    /**
+     * Clear all timings.
+     */
+    public void reset() {
+        lockWait.reset();
+        decode.reset();
+        display.reset();
+        interval.reset();
+        lateFrames.set(0);
+        lastLockNanos = 0;
+        lastUnlockNanos = 0;
+        lastDisplayNanos = 0;
+        averageInterval = 0;
+    }
+}
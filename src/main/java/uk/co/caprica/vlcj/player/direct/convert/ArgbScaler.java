@@ -0,0 +1,144 @@
+/*
+ * This file is part of VLCJ.
+ *
+ * VLCJ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * VLCJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with VLCJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2019 Caprica Software Limited.
+ */
+
+package uk.co.caprica.vlcj.player.direct.convert;
+
+/**
+ * Scales ARGB pixels using nearest-neighbour sampling.
+ * <p>
+ * The source coordinates for each destination row and column are calculated once when the scaler
+ * is created, so a scaler should be created once for each source and destination size and then
+ * re-used for every frame.
+ * <p>
+ * Where possible it is much cheaper to have the native library scale the video, see
+ * {@link uk.co.caprica.vlcj.player.direct.format.PreviewBufferFormatCallback}.
+ * <p>
+ * A scaler has no mutable state so may be shared between threads.
+ */
+public final class ArgbScaler {
+
+    /**
+     * Source width.
+     */
+    private final int sourceWidth;
+
+    /**
+     * Source height.
+     */
+    private final int sourceHeight;
+
+    /**
+     * Destination width.
+     */
+    private final int width;
+
+    /**
+     * Destination height.
+     */
+    private final int height;
+
+    /**
+     * Source column for each destination column.
+     */
+    private final int[] columns;
+
+    /**
+     * Source row for each destination row.
+     */
+    private final int[] rows;
+
+    /**
+     * Create a scaler.
+     *
+     * @param sourceWidth source width
+     * @param sourceHeight source height
+     * @param width destination width
+     * @param height destination height
+     */
+    public ArgbScaler(int sourceWidth, int sourceHeight, int width, int height) {
+        if (sourceWidth <= 0 || sourceHeight <= 0 || width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("dimensions must be greater than zero");
+        }
+        this.sourceWidth = sourceWidth;
+        this.sourceHeight = sourceHeight;
+        this.width = width;
+        this.height = height;
+        this.columns = new int[width];
+        this.rows = new int[height];
+        for (int x = 0; x < width; x++) {
+            columns[x] = (int) ((2L * x + 1) * sourceWidth / (2L * width));
+        }
+        for (int y = 0; y < height; y++) {
+            rows[y] = (int) ((2L * y + 1) * sourceHeight / (2L * height));
+        }
+    }
+
+    /**
+     * Scale an image.
+     *
+     * @param source source pixels
+     * @param sourceStride number of pixels in each row of the source array
+     * @param destination array to receive the scaled pixels, must be at least width * height
+     */
+    public void scale(int[] source, int sourceStride, int[] destination) {
+        for (int y = 0; y < height; y++) {
+            int in = rows[y] * sourceStride;
+            int out = y * width;
+            for (int x = 0; x < width; x++) {
+                destination[out + x] = source[in + columns[x]];
+            }
+        }
+    }
+
+    /**
+     * Get the source width.
+     *
+     * @return width
+     */
+    public int getSourceWidth() {
+        return sourceWidth;
+    }
+
+    /**
+     * Get the source height.
+     *
+     * @return height
+     */
+    public int getSourceHeight() {
+        return sourceHeight;
+    }
+
+    /**
+     * Get the destination width.
+     *
+     * @return width
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Get the destination height.
+     *
+     * @return height
+     */
+    public int getHeight() {
+        return height;
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * This file is part of VLCJ.
+ *
+ * VLCJ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * VLCJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with VLCJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2019 Caprica Software Limited.
+ */
+
+package uk.co.caprica.vlcj.player.direct.convert;
+
+import uk.co.caprica.vlcj.player.direct.BufferFormat;
+
+import com.sun.jna.Memory;
+import com.sun.jna.Pointer;
+
+/**
+ * Converts YUV video frames to ARGB pixels or grayscale.
+ * <p>
+ * Conversions use ITU-R BT.601 limited-range coefficients with fixed-point integer arithmetic and
+ * pre-computed lookup tables. The source planes are read from native memory a row at a time into
+ * scratch arrays owned by the converter, and the results are written to arrays supplied by the
+ * caller, so once the scratch arrays have grown to the frame width no memory is allocated.
+ * <p>
+ * Native memory can be any {@link Pointer}, so as well as the direct media player buffers a direct
+ * {@link java.nio.ByteBuffer} can be used via {@link com.sun.jna.Native#getDirectBufferPointer(java.nio.Buffer)}.
+ * <p>
+ * A converter is not thread-safe, each thread must use its own instance.
+ */
+public final class ColourConverter {
+
+    /**
+     * Luma contribution, indexed by Y.
+     */
+    private static final int[] Y_TABLE = new int[256];
+
+    /**
+     * Red contribution, indexed by V.
+     */
+    private static final int[] RV_TABLE = new int[256];
+
+    /**
+     * Green contribution, indexed by U.
+     */
+    private static final int[] GU_TABLE = new int[256];
+
+    /**
+     * Green contribution, indexed by V.
+     */
+    private static final int[] GV_TABLE = new int[256];
+
+    /**
+     * Blue contribution, indexed by U.
+     */
+    private static final int[] BU_TABLE = new int[256];
+
+    /**
+     * Offset applied to a fixed-point value before indexing the clamp table.
+     */
+    private static final int CLAMP_OFFSET = 384;
+
+    /**
+     * Clamps a (shifted) fixed-point value to 0..255.
+     */
+    private static final int[] CLAMP_TABLE = new int[1024];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            Y_TABLE[i] = 298 * (i - 16) + 128;
+            RV_TABLE[i] = 409 * (i - 128);
+            GU_TABLE[i] = -100 * (i - 128);
+            GV_TABLE[i] = -208 * (i - 128);
+            BU_TABLE[i] = 516 * (i - 128);
+        }
+        for (int i = 0; i < CLAMP_TABLE.length; i++) {
+            CLAMP_TABLE[i] = Math.max(0, Math.min(255, i - CLAMP_OFFSET));
+        }
+    }
+
+    /**
+     * Scratch row for the Y plane.
+     */
+    private byte[] yRow = new byte[0];
+
+    /**
+     * Scratch row for the U plane, or the interleaved UV plane.
+     */
+    private byte[] uRow = new byte[0];
+
+    /**
+     * Scratch row for the V plane.
+     */
+    private byte[] vRow = new byte[0];
+
+    /**
+     * Convert an I420 frame from the direct media player to ARGB pixels.
+     *
+     * @param planes native buffers
+     * @param bufferFormat buffer format, must be "I420"
+     * @param argb array to receive the pixels, must be at least width * height
+     */
+    public void i420ToArgb(Memory[] planes, BufferFormat bufferFormat, int[] argb) {
+        int[] pitches = bufferFormat.getPitches();
+        i420ToArgb(planes[0], pitches[0], planes[1], pitches[1], planes[2], pitches[2], bufferFormat.getWidth(), bufferFormat.getHeight(), argb, bufferFormat.getWidth());
+    }
+
+    /**
+     * Convert an I420 frame to ARGB pixels.
+     *
+     * @param y Y plane
+     * @param yPitch Y plane pitch, in bytes
+     * @param u U plane
+     * @param uPitch U plane pitch, in bytes
+     * @param v V plane
+     * @param vPitch V plane pitch, in bytes
+     * @param width frame width
+     * @param height frame height
+     * @param argb array to receive the pixels
+     * @param argbStride number of pixels in each row of the ARGB array
+     */
+    public void i420ToArgb(Pointer y, int yPitch, Pointer u, int uPitch, Pointer v, int vPitch, int width, int height, int[] argb, int argbStride) {
+        int chromaWidth = (width + 1) / 2;
+        ensureRows(width, chromaWidth, chromaWidth);
+        for (int row = 0; row < height; row++) {
+            y.read((long) row * yPitch, yRow, 0, width);
+            if ((row & 1) == 0) {
+                u.read((long) (row >> 1) * uPitch, uRow, 0, chromaWidth);
+                v.read((long) (row >> 1) * vPitch, vRow, 0, chromaWidth);
+            }
+            int out = row * argbStride;
+            for (int x = 0; x < width; x++) {
+                argb[out + x] = pixel(yRow[x] & 0xff, uRow[x >> 1] & 0xff, vRow[x >> 1] & 0xff);
+            }
+        }
+    }
+
+    /**
+     * Convert an NV12 frame from the direct media player to ARGB pixels.
+     *
+     * @param planes native buffers
+     * @param bufferFormat buffer format, must be "NV12"
+     * @param argb array to receive the pixels, must be at least width * height
+     */
+    public void nv12ToArgb(Memory[] planes, BufferFormat bufferFormat, int[] argb) {
+        int[] pitches = bufferFormat.getPitches();
+        nv12ToArgb(planes[0], pitches[0], planes[1], pitches[1], bufferFormat.getWidth(), bufferFormat.getHeight(), argb, bufferFormat.getWidth());
+    }
+
+    /**
+     * Convert an NV12 frame to ARGB pixels.
+     *
+     * @param y Y plane
+     * @param yPitch Y plane pitch, in bytes
+     * @param uv interleaved UV plane
+     * @param uvPitch UV plane pitch, in bytes
+     * @param width frame width
+     * @param height frame height
+     * @param argb array to receive the pixels
+     * @param argbStride number of pixels in each row of the ARGB array
+     */
+    public void nv12ToArgb(Pointer y, int yPitch, Pointer uv, int uvPitch, int width, int height, int[] argb, int argbStride) {
+        int chromaBytes = (width + 1) / 2 * 2;
+        ensureRows(width, chromaBytes, 0);
+        for (int row = 0; row < height; row++) {
+            y.read((long) row * yPitch, yRow, 0, width);
+            if ((row & 1) == 0) {
+                uv.read((long) (row >> 1) * uvPitch, uRow, 0, chromaBytes);
+            }
+            int out = row * argbStride;
+            for (int x = 0; x < width; x++) {
+                int c = x & ~1;
+                argb[out + x] = pixel(yRow[x] & 0xff, uRow[c] & 0xff, uRow[c + 1] & 0xff);
+            }
+        }
+    }
+
+    /**
+     * Extract a grayscale image from the Y (luma) plane of a YUV frame.
+     * <p>
+     * This is simply a copy of the luma plane with the pitch removed, it works for any planar or
+     * semi-planar YUV format (e.g. I420 and NV12).
+     *
+     * @param y Y plane
+     * @param yPitch Y plane pitch, in bytes
+     * @param width frame width
+     * @param height frame height
+     * @param gray array to receive the grayscale values, must be at least width * height
+     */
+    public void yToGray(Pointer y, int yPitch, int width, int height, byte[] gray) {
+        for (int row = 0; row < height; row++) {
+            y.read((long) row * yPitch, gray, row * width, width);
+        }
+    }
+
+    /**
+     * Convert ARGB pixels to grayscale.
+     * <p>
+     * Uses the same BT.601 luma weights as the YUV conversion, with full-range output.
+     *
+     * @param argb ARGB pixels
+     * @param argbStride number of pixels in each row of the ARGB array
+     * @param width image width
+     * @param height image height
+     * @param gray array to receive the grayscale values, must be at least width * height
+     */
+    public static void argbToGray(int[] argb, int argbStride, int width, int height, byte[] gray) {
+        for (int row = 0; row < height; row++) {
+            int in = row * argbStride;
+            int out = row * width;
+            for (int x = 0; x < width; x++) {
+                int pixel = argb[in + x];
+                int r = (pixel >> 16) & 0xff;
+                int g = (pixel >> 8) & 0xff;
+                int b = pixel & 0xff;
+                gray[out + x] = (byte) ((77 * r + 150 * g + 29 * b + 128) >> 8);
+            }
+        }
+    }
+
+    private static int pixel(int y, int u, int v) {
+        int luma = Y_TABLE[y];
+        int r = CLAMP_TABLE[((luma + RV_TABLE[v]) >> 8) + CLAMP_OFFSET];
+        int g = CLAMP_TABLE[((luma + GU_TABLE[u] + GV_TABLE[v]) >> 8) + CLAMP_OFFSET];
+        int b = CLAMP_TABLE[((luma + BU_TABLE[u]) >> 8) + CLAMP_OFFSET];
+        return 0xff000000 | (r << 16) | (g << 8) | b;
+    }
+
+    private void ensureRows(int yLength, int uLength, int vLength) {
+        if (yRow.length < yLength) {
+            yRow = new byte[yLength];
+        }
+        if (uRow.length < uLength) {
+            uRow = new byte[uLength];
+        }
+        if (vRow.length < vLength) {
+            vRow = new byte[vLength];
+        }
+    }
+}
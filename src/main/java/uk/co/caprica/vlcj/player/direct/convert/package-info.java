@@ -0,0 +1,5 @@
+/**
+ * Provides pixel format conversion and scaling utilities for video frames from the
+ * direct video rendering media player.
+ */
+package uk.co.caprica.vlcj.player.direct.convert;
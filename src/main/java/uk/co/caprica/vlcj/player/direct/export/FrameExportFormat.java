@@ -0,0 +1,68 @@
+/*
+ * This file is part of VLCJ.
+ *
+ * VLCJ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * VLCJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with VLCJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2019 Caprica Software Limited.
+ */
+
+package uk.co.caprica.vlcj.player.direct.export;
+
+/**
+ * Enumeration of formats that video frames can be exported as.
+ */
+public enum FrameExportFormat {
+
+    /**
+     * PNG image, only supported for "RV32" buffers.
+     */
+    PNG("png", ".png"),
+
+    /**
+     * JPEG image, only supported for "RV32" buffers.
+     */
+    JPEG("jpg", ".jpg"),
+
+    /**
+     * Raw buffer data, every plane is written one after the other.
+     */
+    RAW(null, ".raw");
+
+    private final String imageFormat;
+
+    private final String extension;
+
+    private FrameExportFormat(String imageFormat, String extension) {
+        this.imageFormat = imageFormat;
+        this.extension = extension;
+    }
+
+    /**
+     * Get the name of the image format used to encode the frame.
+     *
+     * @return image format name, or <code>null</code> if the frame is not encoded as an image
+     */
+    public String imageFormat() {
+        return imageFormat;
+    }
+
+    /**
+     * Get the file name extension.
+     *
+     * @return extension, including the leading dot
+     */
+    public String extension() {
+        return extension;
+    }
+}
@@ -0,0 +1,381 @@
+/*
+ * This file is part of VLCJ.
+ *
+ * VLCJ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * VLCJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with VLCJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2019 Caprica Software Limited.
+ */
+
+package uk.co.caprica.vlcj.player.direct.export;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.imageio.ImageIO;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.co.caprica.vlcj.player.direct.BufferFormat;
+import uk.co.caprica.vlcj.player.direct.DirectMediaPlayer;
+import uk.co.caprica.vlcj.player.direct.FrameSampler;
+import uk.co.caprica.vlcj.player.direct.RenderCallback;
+
+import com.sun.jna.Memory;
+
+/**
+ * Implementation of a {@link RenderCallback} that exports video frames to files.
+ * <p>
+ * When a frame is selected for export, the native buffers are copied into a pooled frame buffer and
+ * the callback returns immediately - the (relatively slow) encoding and file writing is done by a
+ * bounded pool of worker threads.
+ * <p>
+ * Frames are selected by a {@link FrameSampler}, and an application can additionally request that
+ * the next frame be exported by invoking {@link #requestFrame()}.
+ * <p>
+ * If a frame is selected but all of the pooled frame buffers are still waiting to be encoded, the
+ * frame is dropped rather than waiting.
+ * <p>
+ * Files are named with the given prefix followed by the frame number, e.g. "camera1-00000042.png".
+ * <p>
+ * The exporter can optionally delegate every frame to another {@link RenderCallback}.
+ */
+public class FrameExporter implements RenderCallback {
+
+    /**
+     * Log.
+     */
+    private final Logger logger = LoggerFactory.getLogger(FrameExporter.class);
+
+    /**
+     * Maximum time to wait for pending frames to be exported when releasing, in seconds.
+     */
+    private static final long RELEASE_TIMEOUT_SECONDS = 10;
+
+    /**
+     * Directory to write the files to.
+     */
+    private final File directory;
+
+    /**
+     * File name prefix.
+     */
+    private final String prefix;
+
+    /**
+     * Export format.
+     */
+    private final FrameExportFormat format;
+
+    /**
+     * Component that selects the frames to export.
+     */
+    private final FrameSampler sampler;
+
+    /**
+     * Optional callback to delegate to.
+     */
+    private final RenderCallback delegate;
+
+    /**
+     * Frame buffers available for use.
+     */
+    private final BlockingQueue<Frame> pool;
+
+    /**
+     * Factory for the worker threads of all frame exporters.
+     */
+    private static final ThreadFactory EXPORT_THREAD_FACTORY = new ExportThreadFactory();
+
+    /**
+     * Worker threads used to encode and write the frames.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Number of frames exported.
+     */
+    private final AtomicLong encoded = new AtomicLong();
+
+    /**
+     * Number of selected frames that were dropped because there was no free frame buffer.
+     */
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * Number of frames that failed to export.
+     */
+    private final AtomicLong failed = new AtomicLong();
+
+    /**
+     * Flag if the next frame should be exported irrespective of the sampler.
+     */
+    private volatile boolean frameRequested;
+
+    /**
+     * Number of the current frame.
+     */
+    private long frameNumber;
+
+    /**
+     * Create a frame exporter with a single worker thread and two frame buffers.
+     *
+     * @param directory directory to write the files to
+     * @param prefix file name prefix
+     * @param format export format
+     * @param sampler component that selects the frames to export
+     */
+    public FrameExporter(File directory, String prefix, FrameExportFormat format, FrameSampler sampler) {
+        this(directory, prefix, format, sampler, 2, 1, null);
+    }
+
+    /**
+     * Create a frame exporter.
+     *
+     * @param directory directory to write the files to
+     * @param prefix file name prefix
+     * @param format export format
+     * @param sampler component that selects the frames to export
+     * @param poolSize number of frame buffers, i.e. maximum number of frames waiting to be exported
+     * @param threads number of worker threads
+     * @param delegate callback to delegate to, may be <code>null</code>
+     * @throws IllegalArgumentException if poolSize or threads is not greater than zero
+     */
+    public FrameExporter(File directory, String prefix, FrameExportFormat format, FrameSampler sampler, int poolSize, int threads, RenderCallback delegate) {
+        if (poolSize <= 0) {
+            throw new IllegalArgumentException("poolSize must be greater than zero");
+        }
+        if (threads <= 0) {
+            throw new IllegalArgumentException("threads must be greater than zero");
+        }
+        this.directory = directory;
+        this.prefix = prefix;
+        this.format = format;
+        this.sampler = sampler;
+        this.delegate = delegate;
+        this.pool = new ArrayBlockingQueue<Frame>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            pool.add(new Frame());
+        }
+        this.executor = Executors.newFixedThreadPool(Math.min(threads, poolSize), EXPORT_THREAD_FACTORY);
+    }
+
+    /**
+     * Request that the next frame be exported, irrespective of the sampler.
+     */
+    public final void requestFrame() {
+        frameRequested = true;
+    }
+
+    /**
+     * Get the number of frames exported.
+     *
+     * @return frame count
+     */
+    public final long encoded() {
+        return encoded.get();
+    }
+
+    /**
+     * Get the number of frames that were selected for export but dropped because the worker threads
+     * had fallen behind.
+     *
+     * @return frame count
+     */
+    public final long dropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Get the number of frames that failed to export.
+     *
+     * @return frame count
+     */
+    public final long failed() {
+        return failed.get();
+    }
+
+    /**
+     * Release the exporter.
+     * <p>
+     * Frames that are already waiting to be exported will be finished first.
+     */
+    public final void release() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(RELEASE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public final void display(DirectMediaPlayer mediaPlayer, Memory[] nativeBuffers, BufferFormat bufferFormat) {
+        long number = frameNumber++;
+        boolean requested = frameRequested;
+        if (requested) {
+            frameRequested = false;
+        }
+        if (sampler.sample(System.nanoTime()) || requested) {
+            Frame frame = pool.poll();
+            if (frame != null) {
+                frame.copy(number, nativeBuffers, bufferFormat);
+                try {
+                    executor.execute(frame);
+                }
+                catch (RejectedExecutionException e) {
+                    // Released
+                    pool.add(frame);
+                    dropped.incrementAndGet();
+                }
+            }
+            else {
+                dropped.incrementAndGet();
+            }
+        }
+        if (delegate != null) {
+            delegate.display(mediaPlayer, nativeBuffers, bufferFormat);
+        }
+    }
+
+    private File file(long number) {
+        return new File(directory, String.format("%s-%08d%s", prefix, number, format.extension()));
+    }
+
+    private void export(Frame frame) throws IOException {
+        File file = file(frame.number);
+        if (format.imageFormat() != null) {
+            if (!"RV32".equals(frame.bufferFormat.getChroma())) {
+                throw new IOException("Can not encode " + frame.bufferFormat.getChroma() + " as " + format);
+            }
+            if (!ImageIO.write(frame.image(), format.imageFormat(), file)) {
+                throw new IOException("No image writer for " + format.imageFormat());
+            }
+        }
+        else {
+            OutputStream out = new FileOutputStream(file);
+            try {
+                for (int i = 0; i < frame.planes.length; i++) {
+                    out.write(frame.planes[i], 0, frame.sizes[i]);
+                }
+            }
+            finally {
+                out.close();
+            }
+        }
+    }
+
+    /**
+     * Pooled frame buffer.
+     * <p>
+     * The frame is filled by the native video thread, then exported by a worker thread, then returned
+     * to the pool.
+     */
+    private final class Frame implements Runnable {
+
+        private long number;
+
+        private BufferFormat bufferFormat;
+
+        private byte[][] planes = new byte[0][];
+
+        private int[] sizes = new int[0];
+
+        private void copy(long number, Memory[] nativeBuffers, BufferFormat bufferFormat) {
+            this.number = number;
+            this.bufferFormat = bufferFormat;
+            int[] pitches = bufferFormat.getPitches();
+            int[] lines = bufferFormat.getLines();
+            if (planes.length != pitches.length) {
+                planes = new byte[pitches.length][];
+                sizes = new int[pitches.length];
+            }
+            for (int i = 0; i < pitches.length; i++) {
+                int size = pitches[i] * lines[i];
+                if (planes[i] == null || planes[i].length < size) {
+                    planes[i] = new byte[size];
+                }
+                sizes[i] = size;
+                nativeBuffers[i].read(0, planes[i], 0, size);
+            }
+        }
+
+        private BufferedImage image() {
+            int width = bufferFormat.getWidth();
+            int height = bufferFormat.getHeight();
+            int stride = bufferFormat.getPitches()[0] / 4;
+            IntBuffer pixels = ByteBuffer.wrap(planes[0]).order(ByteOrder.nativeOrder()).asIntBuffer();
+            BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            int[] row = new int[width];
+            for (int y = 0; y < height; y++) {
+                pixels.position(y * stride);
+                pixels.get(row, 0, width);
+                image.setRGB(0, y, width, 1, row, 0, width);
+            }
+            return image;
+        }
+
+        @Override
+        public void run() {
+            try {
+                export(this);
+                encoded.incrementAndGet();
+            }
+            catch (IOException e) {
+                logger.error("Failed to export frame {}", number, e);
+                failed.incrementAndGet();
+            }
+            catch (RuntimeException e) {
+                logger.error("Failed to export frame {}", number, e);
+                failed.incrementAndGet();
+            }
+            finally {
+                pool.add(this);
+            }
+        }
+    }
+
+    /**
+     * Factory for the daemon threads used to export frames, so that an exporter that was not shut down does not prevent
+     * the JVM from exiting.
+     */
+    private static final class ExportThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "vlcj-export-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+}
@@ -0,0 +1,5 @@
+/**
+ * Provides the classes necessary to export video frames from the direct video rendering
+ * media player to files, without blocking the native video thread.
+ */
+package uk.co.caprica.vlcj.player.direct.export;
@@ -0,0 +1,47 @@
+/*
+ * This file is part of VLCJ.
+ *
+ * VLCJ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * VLCJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with VLCJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2019 Caprica Software Limited.
+ */
+
+package uk.co.caprica.vlcj.player.direct.format;
+
+import uk.co.caprica.vlcj.player.direct.BufferFormat;
+
+/**
+ * Implementation of a buffer format for NV12.
+ * <p>
+ * NV12 is a semi-planar YUV 4:2:0 format with two planes - a full resolution Y (luma) plane
+ * followed by a plane of interleaved U and V (chroma) samples at half the width and half the
+ * height.
+ * <p>
+ * For odd dimensions the chroma plane is rounded up.
+ */
+public class NV12BufferFormat extends BufferFormat {
+
+    /**
+     * Creates an NV12 buffer format with the given width and height.
+     *
+     * @param width width of the buffer
+     * @param height height of the buffer
+     */
+    public NV12BufferFormat(int width, int height) {
+        super("NV12", width, height,
+            new int[] {width, (width + 1) / 2 * 2},
+            new int[] {height, (height + 1) / 2}
+        );
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * This file is part of VLCJ.
+ *
+ * VLCJ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * VLCJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with VLCJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2019 Caprica Software Limited.
+ */
+
+package uk.co.caprica.vlcj.player.direct.format;
+
+import uk.co.caprica.vlcj.player.base.MediaPlayer;
+import uk.co.caprica.vlcj.player.direct.BufferFormat;
+import uk.co.caprica.vlcj.player.direct.BufferFormatCallback;
+
+/**
+ * Implementation of a {@link BufferFormatCallback} that requests video scaled down to fit within a
+ * bounding box, preserving the aspect ratio of the source video.
+ * <p>
+ * The native library performs the scaling, at the same time as the pixel format conversion, so a
+ * small preview of a high resolution video only ever needs small buffers and never requires the
+ * full-size frame to be converted.
+ * <p>
+ * Video is never scaled up, if the source video already fits within the bounding box it is used at
+ * its original size.
+ * <p>
+ * The bounding box can be changed while the video is playing, see
+ * {@link #setBounds(MediaPlayer, int, int)}.
+ * <p>
+ * By default "RV32" buffers are used, a sub-class can override {@link #createBufferFormat(int, int)}
+ * to use a different format.
+ */
+public class PreviewBufferFormatCallback implements BufferFormatCallback {
+
+    /**
+     * Maximum width of the video.
+     */
+    private volatile int maxWidth;
+
+    /**
+     * Maximum height of the video.
+     */
+    private volatile int maxHeight;
+
+    /**
+     * Width of the source video, or zero if not yet known.
+     */
+    private volatile int sourceWidth;
+
+    /**
+     * Height of the source video, or zero if not yet known.
+     */
+    private volatile int sourceHeight;
+
+    /**
+     * Create a buffer format callback.
+     *
+     * @param maxWidth maximum width of the video
+     * @param maxHeight maximum height of the video
+     */
+    public PreviewBufferFormatCallback(int maxWidth, int maxHeight) {
+        validate(maxWidth, maxHeight);
+        this.maxWidth = maxWidth;
+        this.maxHeight = maxHeight;
+    }
+
+    @Override
+    public final BufferFormat getBufferFormat(int sourceWidth, int sourceHeight) {
+        this.sourceWidth = sourceWidth;
+        this.sourceHeight = sourceHeight;
+        int[] size = scaledSize(sourceWidth, sourceHeight, maxWidth, maxHeight);
+        return createBufferFormat(size[0], size[1]);
+    }
+
+    /**
+     * Set a new bounding box for the video.
+     * <p>
+     * This takes effect the next time the native library requests a buffer format, i.e. when the next
+     * video output is created.
+     *
+     * @param maxWidth maximum width of the video
+     * @param maxHeight maximum height of the video
+     */
+    public final void setBounds(int maxWidth, int maxHeight) {
+        validate(maxWidth, maxHeight);
+        this.maxWidth = maxWidth;
+        this.maxHeight = maxHeight;
+    }
+
+    /**
+     * Set a new bounding box for the video, and apply it to a playing media player.
+     * <p>
+     * If the new bounding box changes the size of the video, the video output of the media player is
+     * restarted (by disabling then re-enabling the current video track) so that new buffers are
+     * created - the media player itself does not need to be re-created. There may be a brief gap in
+     * the video while this happens.
+     * <p>
+     * This method must not be invoked from a native callback thread.
+     *
+     * @param mediaPlayer media player that uses this buffer format callback
+     * @param maxWidth maximum width of the video
+     * @param maxHeight maximum height of the video
+     * @return <code>true</code> if the video output was restarted; <code>false</code> if it was not necessary
+     */
+    public final boolean setBounds(MediaPlayer mediaPlayer, int maxWidth, int maxHeight) {
+        int[] oldSize = scaledSize(sourceWidth, sourceHeight, this.maxWidth, this.maxHeight);
+        setBounds(maxWidth, maxHeight);
+        if (sourceWidth == 0 || sourceHeight == 0) {
+            return false;
+        }
+        int[] newSize = scaledSize(sourceWidth, sourceHeight, maxWidth, maxHeight);
+        if (oldSize[0] == newSize[0] && oldSize[1] == newSize[1]) {
+            return false;
+        }
+        int track = mediaPlayer.video().getVideoTrack();
+        if (track == -1) {
+            return false;
+        }
+        mediaPlayer.video().setVideoTrack(-1);
+        mediaPlayer.video().setVideoTrack(track);
+        return true;
+    }
+
+    /**
+     * Get the maximum width of the video.
+     *
+     * @return maximum width
+     */
+    public final int getMaxWidth() {
+        return maxWidth;
+    }
+
+    /**
+     * Get the maximum height of the video.
+     *
+     * @return maximum height
+     */
+    public final int getMaxHeight() {
+        return maxHeight;
+    }
+
+    /**
+     * Create the buffer format for the scaled video.
+     *
+     * @param width scaled width
+     * @param height scaled height
+     * @return buffer format
+     */
+    protected BufferFormat createBufferFormat(int width, int height) {
+        return new RV32BufferFormat(width, height);
+    }
+
+    /**
+     * Calculate the size of the video scaled to fit a bounding box.
+     * <p>
+     * The returned dimensions are always even, and never larger than the source.
+     *
+     * @param sourceWidth source width
+     * @param sourceHeight source height
+     * @param maxWidth maximum width
+     * @param maxHeight maximum height
+     * @return two element array of scaled width and scaled height
+     */
+    static int[] scaledSize(int sourceWidth, int sourceHeight, int maxWidth, int maxHeight) {
+        if (sourceWidth <= 0 || sourceHeight <= 0) {
+            return new int[] {0, 0};
+        }
+        double scale = Math.min(1.0, Math.min((double) maxWidth / sourceWidth, (double) maxHeight / sourceHeight));
+        int width = Math.max(2, (int) (sourceWidth * scale) & ~1);
+        int height = Math.max(2, (int) (sourceHeight * scale) & ~1);
+        return new int[] {width, height};
+    }
+
+    private static void validate(int maxWidth, int maxHeight) {
+        if (maxWidth < 2 || maxHeight < 2) {
+            throw new IllegalArgumentException("maximum width and height must be at least two");
+        }
+    }
+}
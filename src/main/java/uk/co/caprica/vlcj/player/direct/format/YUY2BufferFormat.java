@@ -0,0 +1,43 @@
+/*
+ * This file is part of VLCJ.
+ *
+ * VLCJ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * VLCJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with VLCJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2019 Caprica Software Limited.
+ */
+
+package uk.co.caprica.vlcj.player.direct.format;
+
+import uk.co.caprica.vlcj.player.direct.BufferFormat;
+
+/**
+ * Implementation of a buffer format for YUY2.
+ * <p>
+ * YUY2 is a packed YUV 4:2:2 format in a single plane, each pair of pixels is stored as four bytes
+ * in the order Y0 U Y1 V.
+ * <p>
+ * For an odd width the plane is rounded up to a whole pixel pair.
+ */
+public class YUY2BufferFormat extends BufferFormat {
+
+    /**
+     * Creates a YUY2 buffer format with the given width and height.
+     *
+     * @param width width of the buffer
+     * @param height height of the buffer
+     */
+    public YUY2BufferFormat(int width, int height) {
+        super("YUY2", width, height, new int[] {(width + 1) / 2 * 4}, new int[] {height});
+    }
+}
@@ -1,5 +1,5 @@
 /**
- * Provides implementations of buffer formats for the direct video rendering
- * media player.
+ * Provides implementations of buffer formats, and buffer format callbacks, for the
+ * direct video rendering media player.
  */
 package uk.co.caprica.vlcj.player.direct.format;
@@ -0,0 +1,454 @@
+/*
+ * This file is part of VLCJ.
+ *
+ * VLCJ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * VLCJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with VLCJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2019 Caprica Software Limited.
+ */
+
+package uk.co.caprica.vlcj.player.directaudio;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.ShortBuffer;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.sun.jna.Pointer;
+
+/**
+ * Implementation of an {@link AudioCallback} that analyses the decoded audio samples.
+ * <p>
+ * The native audio thread only copies the samples into a lock-free ring buffer, all of the analysis
+ * is performed on a separate worker. The peak and root-mean-square level of each channel and a
+ * windowed FFT spectrum are published at a fixed rate.
+ * <p>
+ * After construction no further memory is allocated.
+ * <p>
+ * The analyser can optionally delegate every callback to another {@link AudioCallback}, so it can
+ * be used alongside e.g. a {@link JavaSoundAudioSink}.
+ * <p>
+ * Many analysers can share the same executor, so a large number of streams can be analysed with
+ * a small number of threads.
+ * <p>
+ * Supported audio formats are "S16N" and "FL32".
+ */
+public class AudioAnalyser extends AudioCallbackAdapter {
+
+    /**
+     * Number of channels.
+     */
+    private final int channels;
+
+    /**
+     * Size of one sample block (all channels), in bytes.
+     */
+    private final int blockSize;
+
+    /**
+     * Flag if the sample format is 32-bit floating point rather than signed 16-bit.
+     */
+    private final boolean floatFormat;
+
+    /**
+     * Number of samples for each FFT.
+     */
+    private final int fftSize;
+
+    /**
+     * Interval between each published analysis, in microseconds.
+     */
+    private final long updateInterval;
+
+    /**
+     * Optional callback to delegate to.
+     */
+    private final AudioCallback delegate;
+
+    /**
+     * Executor used to run the analysis.
+     */
+    private final ScheduledExecutorService executor;
+
+    /**
+     * Flag if the executor was created by this component and so must be shut down by it.
+     */
+    private final boolean ownExecutor;
+
+    /**
+     * Samples waiting to be analysed.
+     */
+    private final AudioRingBuffer ringBuffer;
+
+    /**
+     * Sample data block used by the worker.
+     */
+    private final byte[] chunk;
+
+    /**
+     * Signed 16-bit view of the sample data block.
+     */
+    private final ShortBuffer shortSamples;
+
+    /**
+     * Floating point view of the sample data block.
+     */
+    private final FloatBuffer floatSamples;
+
+    /**
+     * Peak level accumulator for each channel.
+     */
+    private final float[] peak;
+
+    /**
+     * Sum of squares accumulator for each channel.
+     */
+    private final double[] sumSquares;
+
+    /**
+     * Most recent samples (mixed down to mono) for the FFT.
+     */
+    private final float[] history;
+
+    /**
+     * Window function coefficients.
+     */
+    private final float[] window;
+
+    /**
+     * FFT real values.
+     */
+    private final float[] real;
+
+    /**
+     * FFT imaginary values.
+     */
+    private final float[] imaginary;
+
+    /**
+     * FFT cosine table.
+     */
+    private final float[] cos;
+
+    /**
+     * FFT sine table.
+     */
+    private final float[] sin;
+
+    /**
+     * FFT bit-reversal permutation.
+     */
+    private final int[] reverse;
+
+    /**
+     * Most recently published analysis, exchanged between the worker and the reader.
+     */
+    private final AtomicReference<AudioAnalysis> ready;
+
+    /**
+     * Analysis currently being filled by the worker.
+     */
+    private AudioAnalysis back;
+
+    /**
+     * Analysis currently held by the reader.
+     */
+    private AudioAnalysis front;
+
+    /**
+     * Next position in the sample history.
+     */
+    private int historyIndex;
+
+    /**
+     * Number of samples accumulated since the last published analysis.
+     */
+    private int sampleCount;
+
+    /**
+     * Sequence number of the most recently published analysis.
+     */
+    private long sequence;
+
+    /**
+     * Presentation time stamp of the most recent samples.
+     */
+    private volatile long pts;
+
+    /**
+     * Scheduled analysis task, only valid while started.
+     */
+    private ScheduledFuture<?> future;
+
+    /**
+     * Create an audio analyser with its own executor.
+     *
+     * @param format sample format, "S16N" or "FL32"
+     * @param rate sample rate
+     * @param channels number of channels
+     * @param fftSize number of samples for each FFT, must be a power of two
+     * @param updateRate number of times per second to publish an analysis
+     */
+    public AudioAnalyser(String format, int rate, int channels, int fftSize, int updateRate) {
+        this(format, rate, channels, fftSize, updateRate, null, null);
+    }
+
+    /**
+     * Create an audio analyser.
+     *
+     * @param format sample format, "S16N" or "FL32"
+     * @param rate sample rate
+     * @param channels number of channels
+     * @param fftSize number of samples for each FFT, must be a power of two
+     * @param updateRate number of times per second to publish an analysis
+     * @param delegate callback to delegate to, may be <code>null</code>
+     * @param executor executor used to run the analysis, may be <code>null</code> to create one
+     */
+    public AudioAnalyser(String format, int rate, int channels, int fftSize, int updateRate, AudioCallback delegate, ScheduledExecutorService executor) {
+        if ("S16N".equals(format)) {
+            this.floatFormat = false;
+            this.blockSize = channels * 2;
+        }
+        else if ("FL32".equals(format)) {
+            this.floatFormat = true;
+            this.blockSize = channels * 4;
+        }
+        else {
+            throw new IllegalArgumentException("Unsupported format " + format);
+        }
+        if (fftSize < 2 || Integer.bitCount(fftSize) != 1) {
+            throw new IllegalArgumentException("fftSize must be a power of two");
+        }
+        if (updateRate <= 0) {
+            throw new IllegalArgumentException("updateRate must be greater than zero");
+        }
+        this.channels = channels;
+        this.fftSize = fftSize;
+        this.updateInterval = 1000000L / updateRate;
+        this.delegate = delegate;
+        this.ownExecutor = executor == null;
+        this.executor = executor != null ? executor : Executors.newSingleThreadScheduledExecutor();
+        // Allow for twice the samples of one update interval, plus one FFT, to absorb scheduling delays
+        int bufferSamples = 2 * (rate / updateRate) + fftSize;
+        this.ringBuffer = new AudioRingBuffer(bufferSamples * blockSize);
+        this.chunk = new byte[fftSize * blockSize];
+        ByteBuffer buffer = ByteBuffer.wrap(chunk).order(ByteOrder.nativeOrder());
+        this.shortSamples = buffer.asShortBuffer();
+        this.floatSamples = buffer.asFloatBuffer();
+        this.peak = new float[channels];
+        this.sumSquares = new double[channels];
+        this.history = new float[fftSize];
+        this.window = new float[fftSize];
+        this.real = new float[fftSize];
+        this.imaginary = new float[fftSize];
+        this.cos = new float[fftSize / 2];
+        this.sin = new float[fftSize / 2];
+        this.reverse = new int[fftSize];
+        initTables();
+        float bandWidth = (float) rate / fftSize;
+        this.back = new AudioAnalysis(channels, fftSize / 2, bandWidth);
+        this.front = new AudioAnalysis(channels, fftSize / 2, bandWidth);
+        this.ready = new AtomicReference<AudioAnalysis>(new AudioAnalysis(channels, fftSize / 2, bandWidth));
+    }
+
+    /**
+     * Start publishing analysis results.
+     */
+    public final synchronized void start() {
+        if (future == null) {
+            future = executor.scheduleAtFixedRate(new AnalysisTask(), updateInterval, updateInterval, TimeUnit.MICROSECONDS);
+        }
+    }
+
+    /**
+     * Stop publishing analysis results.
+     */
+    public final synchronized void stop() {
+        if (future != null) {
+            future.cancel(false);
+            future = null;
+        }
+    }
+
+    /**
+     * Stop the analyser and release its resources.
+     * <p>
+     * A shared executor supplied when this analyser was created will <em>not</em> be shut down.
+     */
+    public final void release() {
+        stop();
+        if (ownExecutor) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Get the most recently published analysis.
+     * <p>
+     * This method must always be invoked from the same thread (e.g. a user interface refresh
+     * thread). The returned instance remains valid until the next invocation of this method, and
+     * must not be retained after that.
+     *
+     * @return most recent analysis
+     */
+    public final AudioAnalysis snapshot() {
+        if (ready.get().sequence > front.sequence) {
+            front = ready.getAndSet(front);
+        }
+        return front;
+    }
+
+    @Override
+    public final void play(DirectAudioPlayer mediaPlayer, Pointer samples, int sampleCount, long pts) {
+        // If the analysis falls behind, the samples are simply not analysed
+        if (ringBuffer.write(samples, sampleCount * blockSize)) {
+            this.pts = pts;
+        }
+        if (delegate != null) {
+            delegate.play(mediaPlayer, samples, sampleCount, pts);
+        }
+    }
+
+    @Override
+    public final void pause(DirectAudioPlayer mediaPlayer, long pts) {
+        if (delegate != null) {
+            delegate.pause(mediaPlayer, pts);
+        }
+    }
+
+    @Override
+    public final void resume(DirectAudioPlayer mediaPlayer, long pts) {
+        if (delegate != null) {
+            delegate.resume(mediaPlayer, pts);
+        }
+    }
+
+    @Override
+    public final void flush(DirectAudioPlayer mediaPlayer, long pts) {
+        ringBuffer.discard();
+        if (delegate != null) {
+            delegate.flush(mediaPlayer, pts);
+        }
+    }
+
+    @Override
+    public final void drain(DirectAudioPlayer mediaPlayer) {
+        if (delegate != null) {
+            delegate.drain(mediaPlayer);
+        }
+    }
+
+    private void initTables() {
+        int bits = Integer.numberOfTrailingZeros(fftSize);
+        for (int i = 0; i < fftSize; i++) {
+            reverse[i] = Integer.reverse(i) >>> (32 - bits);
+            // Hann window
+            window[i] = (float) (0.5 * (1 - Math.cos(2 * Math.PI * i / (fftSize - 1))));
+        }
+        for (int i = 0; i < fftSize / 2; i++) {
+            cos[i] = (float) Math.cos(2 * Math.PI * i / fftSize);
+            sin[i] = (float) -Math.sin(2 * Math.PI * i / fftSize);
+        }
+    }
+
+    private void accumulate(int count) {
+        int blocks = count / blockSize;
+        float scale = floatFormat ? 1.0f : 1.0f / 32768;
+        for (int i = 0; i < blocks; i++) {
+            float mono = 0;
+            for (int c = 0; c < channels; c++) {
+                int index = i * channels + c;
+                float value = (floatFormat ? floatSamples.get(index) : shortSamples.get(index)) * scale;
+                float abs = Math.abs(value);
+                if (abs > peak[c]) {
+                    peak[c] = abs;
+                }
+                sumSquares[c] += value * value;
+                mono += value;
+            }
+            history[historyIndex] = mono / channels;
+            historyIndex = (historyIndex + 1) & (fftSize - 1);
+        }
+        sampleCount += blocks;
+    }
+
+    private void publish() {
+        AudioAnalysis analysis = back;
+        float[] peakResult = analysis.peak();
+        float[] rmsResult = analysis.rms();
+        for (int c = 0; c < channels; c++) {
+            peakResult[c] = peak[c];
+            rmsResult[c] = sampleCount > 0 ? (float) Math.sqrt(sumSquares[c] / sampleCount) : 0;
+            peak[c] = 0;
+            sumSquares[c] = 0;
+        }
+        spectrum(analysis.spectrum());
+        analysis.sampleCount = sampleCount;
+        analysis.pts = pts;
+        analysis.sequence = ++sequence;
+        sampleCount = 0;
+        back = ready.getAndSet(analysis);
+    }
+
+    private void spectrum(float[] result) {
+        // Oldest sample first, windowed and in bit-reversed order
+        for (int i = 0; i < fftSize; i++) {
+            int j = reverse[i];
+            real[j] = history[(historyIndex + i) & (fftSize - 1)] * window[i];
+            imaginary[j] = 0;
+        }
+        for (int size = 2; size <= fftSize; size <<= 1) {
+            int half = size >> 1;
+            int step = fftSize / size;
+            for (int start = 0; start < fftSize; start += size) {
+                for (int k = 0; k < half; k++) {
+                    float wr = cos[k * step];
+                    float wi = sin[k * step];
+                    int even = start + k;
+                    int odd = even + half;
+                    float tr = real[odd] * wr - imaginary[odd] * wi;
+                    float ti = real[odd] * wi + imaginary[odd] * wr;
+                    real[odd] = real[even] - tr;
+                    imaginary[odd] = imaginary[even] - ti;
+                    real[even] += tr;
+                    imaginary[even] += ti;
+                }
+            }
+        }
+        // A Hann window halves the amplitude, so scale to make a full-scale sine wave close to 1.0
+        float scale = 4.0f / fftSize;
+        for (int i = 0; i < result.length; i++) {
+            result[i] = (float) Math.sqrt(real[i] * real[i] + imaginary[i] * imaginary[i]) * scale;
+        }
+    }
+
+    /**
+     * Task that drains the ring buffer and publishes a new analysis.
+     */
+    private final class AnalysisTask implements Runnable {
+
+        @Override
+        public void run() {
+            int count;
+            while ((count = ringBuffer.read(chunk, 0, chunk.length)) > 0) {
+                accumulate(count);
+            }
+            publish();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * This file is part of VLCJ.
+ *
+ * VLCJ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * VLCJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with VLCJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2019 Caprica Software Limited.
+ */
+
+package uk.co.caprica.vlcj.player.directaudio;
+
+/**
+ * Snapshot of the results of an audio analysis.
+ * <p>
+ * Instances are created and re-used by an {@link AudioAnalyser}, the arrays returned by this class
+ * are not copies so a client application must not modify them.
+ * <p>
+ * Sample levels are normalised so that full-scale is 1.0.
+ */
+public final class AudioAnalysis {
+
+    /**
+     * Peak sample level for each channel.
+     */
+    private final float[] peak;
+
+    /**
+     * Root-mean-square sample level for each channel.
+     */
+    private final float[] rms;
+
+    /**
+     * Magnitude of each frequency band.
+     */
+    private final float[] spectrum;
+
+    /**
+     * Width of each frequency band, in Hz.
+     */
+    private final float bandWidth;
+
+    /**
+     * Sequence number, increases each time the analysis is updated.
+     */
+    long sequence;
+
+    /**
+     * Presentation time stamp of the most recently analysed samples.
+     */
+    long pts;
+
+    /**
+     * Number of samples that contributed to the levels.
+     */
+    int sampleCount;
+
+    AudioAnalysis(int channels, int bands, float bandWidth) {
+        this.peak = new float[channels];
+        this.rms = new float[channels];
+        this.spectrum = new float[bands];
+        this.bandWidth = bandWidth;
+    }
+
+    /**
+     * Get the peak level for each channel.
+     *
+     * @return peak levels
+     */
+    public float[] peak() {
+        return peak;
+    }
+
+    /**
+     * Get the root-mean-square level for each channel.
+     *
+     * @return rms levels
+     */
+    public float[] rms() {
+        return rms;
+    }
+
+    /**
+     * Get the spectrum.
+     * <p>
+     * Each element is the magnitude of one frequency band, from 0 Hz up to half of the sample rate.
+     *
+     * @return spectrum
+     */
+    public float[] spectrum() {
+        return spectrum;
+    }
+
+    /**
+     * Get the width of each band in the spectrum.
+     *
+     * @return band width, in Hz
+     */
+    public float bandWidth() {
+        return bandWidth;
+    }
+
+    /**
+     * Get the sequence number of this analysis.
+     * <p>
+     * The sequence number increases each time a new analysis is published.
+     *
+     * @return sequence number
+     */
+    public long sequence() {
+        return sequence;
+    }
+
+    /**
+     * Get the presentation time stamp of the most recently analysed samples.
+     *
+     * @return presentation time stamp
+     */
+    public long pts() {
+        return pts;
+    }
+
+    /**
+     * Get the number of samples that contributed to the peak and rms levels.
+     *
+     * @return sample count
+     */
+    public int sampleCount() {
+        return sampleCount;
+    }
+}
@@ -0,0 +1,497 @@
+/*
+ * This file is part of VLCJ.
+ *
+ * VLCJ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * VLCJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with VLCJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2019 Caprica Software Limited.
+ */
+
+package uk.co.caprica.vlcj.player.directaudio;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sun.jna.Pointer;
+
+/**
+ * Implementation of an {@link AudioCallback} that records the decoded audio samples to a file.
+ * <p>
+ * The native audio thread only copies the samples into a lock-free ring buffer, it never waits for
+ * the disk. The ring buffer is periodically written to the file by a write-behind task, using
+ * gathering writes directly from the ring buffer storage.
+ * <p>
+ * Recording can be rotated to a new file when the current file reaches a maximum size and/or a
+ * maximum duration. When rotation is enabled, a sequence number is added to the file name, e.g.
+ * "capture.wav" is recorded as "capture-1.wav", "capture-2.wav" and so on.
+ * <p>
+ * Many recorders can share the same executor, so a large number of streams can be recorded with a
+ * small number of threads.
+ * <p>
+ * The recorder can optionally delegate every callback to another {@link AudioCallback}.
+ * <p>
+ * Supported audio formats are "S16N" and "FL32". WAV files are little-endian, so on a big-endian
+ * platform {@link AudioFileType#RAW} should be used instead.
+ */
+public class AudioRecorder extends AudioCallbackAdapter {
+
+    /**
+     * Log.
+     */
+    private final Logger logger = LoggerFactory.getLogger(AudioRecorder.class);
+
+    /**
+     * Default amount of audio that can be buffered before samples are dropped, in milliseconds.
+     */
+    private static final int DEFAULT_BUFFER_MILLIS = 2000;
+
+    /**
+     * Interval between each write to the file, in milliseconds.
+     */
+    private static final long WRITE_INTERVAL_MILLIS = 100;
+
+    /**
+     * Size of a WAV file header.
+     */
+    private static final int WAV_HEADER_SIZE = 44;
+
+    /**
+     * File, or file name template if rotation is enabled.
+     */
+    private final File file;
+
+    /**
+     * Type of file to write.
+     */
+    private final AudioFileType fileType;
+
+    /**
+     * Flag if the sample format is 32-bit floating point rather than signed 16-bit.
+     */
+    private final boolean floatFormat;
+
+    /**
+     * Sample rate.
+     */
+    private final int rate;
+
+    /**
+     * Number of channels.
+     */
+    private final int channels;
+
+    /**
+     * Size of one sample block (all channels), in bytes.
+     */
+    private final int blockSize;
+
+    /**
+     * Maximum number of bytes of sample data in each file, or zero for no limit.
+     */
+    private final long maxFileBytes;
+
+    /**
+     * Optional callback to delegate to.
+     */
+    private final AudioCallback delegate;
+
+    /**
+     * Executor used to write the files.
+     */
+    private final ScheduledExecutorService executor;
+
+    /**
+     * Flag if the executor was created by this component and so must be shut down by it.
+     */
+    private final boolean ownExecutor;
+
+    /**
+     * Samples waiting to be written.
+     */
+    private final AudioRingBuffer ringBuffer;
+
+    /**
+     * Segments of the ring buffer to write.
+     */
+    private final ByteBuffer[] segments = new ByteBuffer[2];
+
+    /**
+     * Buffer for the file header.
+     */
+    private final ByteBuffer header = ByteBuffer.allocate(WAV_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+    /**
+     * Number of sample packets dropped because the ring buffer was full.
+     */
+    private final AtomicLong overruns = new AtomicLong();
+
+    /**
+     * Total number of bytes of sample data written.
+     */
+    private final AtomicLong bytesWritten = new AtomicLong();
+
+    /**
+     * Current file, only valid while recording.
+     */
+    private RandomAccessFile currentFile;
+
+    /**
+     * Channel for the current file, only valid while recording.
+     */
+    private FileChannel channel;
+
+    /**
+     * Number of bytes of sample data written to the current file.
+     */
+    private long fileBytes;
+
+    /**
+     * Number of files written so far.
+     */
+    private volatile int fileCount;
+
+    /**
+     * Flag if recording has failed due to an I/O error.
+     */
+    private volatile boolean failed;
+
+    /**
+     * Scheduled write task, only valid while recording.
+     */
+    private ScheduledFuture<?> future;
+
+    /**
+     * Flag whether or not samples are being recorded, samples that arrive at any other time are not buffered.
+     */
+    private volatile boolean recording;
+
+    /**
+     * Create an audio recorder that writes a single file using its own executor.
+     *
+     * @param file file to record to
+     * @param fileType type of file to write
+     * @param format sample format, "S16N" or "FL32"
+     * @param rate sample rate
+     * @param channels number of channels
+     */
+    public AudioRecorder(File file, AudioFileType fileType, String format, int rate, int channels) {
+        this(file, fileType, format, rate, channels, 0, 0, null, null);
+    }
+
+    /**
+     * Create an audio recorder.
+     *
+     * @param file file to record to, or file name template if rotation is enabled
+     * @param fileType type of file to write
+     * @param format sample format, "S16N" or "FL32"
+     * @param rate sample rate
+     * @param channels number of channels
+     * @param maxFileBytes maximum size of the sample data in each file, or zero for no limit
+     * @param maxFileMillis maximum duration of each file in milliseconds, or zero for no limit
+     * @param delegate callback to delegate to, may be <code>null</code>
+     * @param executor executor used to write the files, may be <code>null</code> to create one
+     */
+    public AudioRecorder(File file, AudioFileType fileType, String format, int rate, int channels, long maxFileBytes, long maxFileMillis, AudioCallback delegate, ScheduledExecutorService executor) {
+        if ("S16N".equals(format)) {
+            this.floatFormat = false;
+            this.blockSize = channels * 2;
+        }
+        else if ("FL32".equals(format)) {
+            this.floatFormat = true;
+            this.blockSize = channels * 4;
+        }
+        else {
+            throw new IllegalArgumentException("Unsupported format " + format);
+        }
+        this.file = file;
+        this.fileType = fileType;
+        this.rate = rate;
+        this.channels = channels;
+        this.maxFileBytes = maxFileBytes(maxFileBytes, maxFileMillis);
+        this.delegate = delegate;
+        this.ownExecutor = executor == null;
+        this.executor = executor != null ? executor : Executors.newSingleThreadScheduledExecutor();
+        this.ringBuffer = new AudioRingBuffer(rate * DEFAULT_BUFFER_MILLIS / 1000 * blockSize);
+    }
+
+    /**
+     * Start recording.
+     * <p>
+     * The first file is created immediately.
+     *
+     * @throws IOException if the file could not be created
+     */
+    public final synchronized void start() throws IOException {
+        if (future != null) {
+            return;
+        }
+        failed = false;
+        fileCount = 0;
+        openFile();
+        future = executor.scheduleWithFixedDelay(new WriteTask(), WRITE_INTERVAL_MILLIS, WRITE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        recording = true;
+    }
+
+    /**
+     * Stop recording.
+     * <p>
+     * Any buffered samples are written and the current file is completed before this method returns.
+     */
+    public final synchronized void stop() {
+        if (future == null) {
+            return;
+        }
+        recording = false;
+        future.cancel(false);
+        future = null;
+        try {
+            executor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    write();
+                    closeFile();
+                }
+            }).get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException e) {
+            logger.error("Failed to finish recording", e.getCause());
+        }
+    }
+
+    /**
+     * Stop recording and release the recorder resources.
+     * <p>
+     * A shared executor supplied when this recorder was created will <em>not</em> be shut down.
+     */
+    public final void release() {
+        stop();
+        if (ownExecutor) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Get the number of sample packets that were dropped because the writer fell behind.
+     *
+     * @return overrun count
+     */
+    public final long overruns() {
+        return overruns.get();
+    }
+
+    /**
+     * Get the total number of bytes of sample data written, across all files.
+     *
+     * @return number of bytes
+     */
+    public final long bytesWritten() {
+        return bytesWritten.get();
+    }
+
+    /**
+     * Get the number of files created.
+     *
+     * @return file count
+     */
+    public final int fileCount() {
+        return fileCount;
+    }
+
+    /**
+     * Check whether recording failed due to an I/O error.
+     *
+     * @return <code>true</code> if recording failed; <code>false</code> otherwise
+     */
+    public final boolean failed() {
+        return failed;
+    }
+
+    @Override
+    public final void play(DirectAudioPlayer mediaPlayer, Pointer samples, int sampleCount, long pts) {
+        // Samples from before recording started must not end up at the start of the file
+        if (recording && !ringBuffer.write(samples, sampleCount * blockSize)) {
+            overruns.incrementAndGet();
+        }
+        if (delegate != null) {
+            delegate.play(mediaPlayer, samples, sampleCount, pts);
+        }
+    }
+
+    @Override
+    public final void pause(DirectAudioPlayer mediaPlayer, long pts) {
+        if (delegate != null) {
+            delegate.pause(mediaPlayer, pts);
+        }
+    }
+
+    @Override
+    public final void resume(DirectAudioPlayer mediaPlayer, long pts) {
+        if (delegate != null) {
+            delegate.resume(mediaPlayer, pts);
+        }
+    }
+
+    @Override
+    public final void flush(DirectAudioPlayer mediaPlayer, long pts) {
+        if (delegate != null) {
+            delegate.flush(mediaPlayer, pts);
+        }
+    }
+
+    @Override
+    public final void drain(DirectAudioPlayer mediaPlayer) {
+        if (delegate != null) {
+            delegate.drain(mediaPlayer);
+        }
+    }
+
+    private long maxFileBytes(long maxFileBytes, long maxFileMillis) {
+        long result = maxFileBytes;
+        if (maxFileMillis > 0) {
+            long durationBytes = rate * maxFileMillis / 1000 * blockSize;
+            result = result > 0 ? Math.min(result, durationBytes) : durationBytes;
+        }
+        // Never split a sample block across files
+        return result - result % blockSize;
+    }
+
+    private File nextFile() {
+        if (maxFileBytes <= 0) {
+            return file;
+        }
+        String name = file.getName();
+        int dot = name.lastIndexOf('.');
+        String baseName = dot > 0 ? name.substring(0, dot) : name;
+        String extension = dot > 0 ? name.substring(dot) : "";
+        return new File(file.getParentFile(), baseName + "-" + (fileCount + 1) + extension);
+    }
+
+    private void openFile() throws IOException {
+        File next = nextFile();
+        logger.debug("openFile(file={})", next);
+        currentFile = new RandomAccessFile(next, "rw");
+        currentFile.setLength(0);
+        channel = currentFile.getChannel();
+        fileBytes = 0;
+        fileCount++;
+        if (fileType == AudioFileType.WAV) {
+            writeHeader(0);
+            channel.position(WAV_HEADER_SIZE);
+        }
+    }
+
+    private void closeFile() {
+        if (channel == null) {
+            return;
+        }
+        logger.debug("closeFile()");
+        try {
+            if (fileType == AudioFileType.WAV) {
+                writeHeader(fileBytes);
+            }
+            currentFile.close();
+        }
+        catch (IOException e) {
+            logger.error("Failed to close recording", e);
+            failed = true;
+        }
+        currentFile = null;
+        channel = null;
+    }
+
+    private void writeHeader(long dataBytes) throws IOException {
+        int dataSize = (int) Math.min(dataBytes, 0xFFFFFFFFL - 36);
+        header.clear();
+        header.put((byte) 'R').put((byte) 'I').put((byte) 'F').put((byte) 'F');
+        header.putInt(36 + dataSize);
+        header.put((byte) 'W').put((byte) 'A').put((byte) 'V').put((byte) 'E');
+        header.put((byte) 'f').put((byte) 'm').put((byte) 't').put((byte) ' ');
+        header.putInt(16);
+        header.putShort((short) (floatFormat ? 3 : 1));
+        header.putShort((short) channels);
+        header.putInt(rate);
+        header.putInt(rate * blockSize);
+        header.putShort((short) blockSize);
+        header.putShort((short) (blockSize / channels * 8));
+        header.put((byte) 'd').put((byte) 'a').put((byte) 't').put((byte) 'a');
+        header.putInt(dataSize);
+        header.flip();
+        long position = 0;
+        while (header.hasRemaining()) {
+            position += channel.write(header, position);
+        }
+    }
+
+    /**
+     * Write all of the buffered samples, rotating files as needed.
+     * <p>
+     * Only ever executed by the executor.
+     */
+    private void write() {
+        if (failed || channel == null) {
+            return;
+        }
+        try {
+            for (;;) {
+                long remaining = maxFileBytes > 0 ? maxFileBytes - fileBytes : Integer.MAX_VALUE;
+                int count = ringBuffer.peek(segments, (int) Math.min(remaining, Integer.MAX_VALUE));
+                if (count == 0) {
+                    break;
+                }
+                long written = 0;
+                while (written < count) {
+                    written += channel.write(segments);
+                }
+                ringBuffer.commit(count);
+                fileBytes += count;
+                bytesWritten.addAndGet(count);
+                if (maxFileBytes > 0 && fileBytes >= maxFileBytes) {
+                    closeFile();
+                    openFile();
+                }
+            }
+        }
+        catch (IOException e) {
+            logger.error("Failed to write recording", e);
+            failed = true;
+            closeFile();
+        }
+    }
+
+    /**
+     * Task that writes the buffered samples.
+     */
+    private final class WriteTask implements Runnable {
+
+        @Override
+        public void run() {
+            write();
+        }
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * This file is part of VLCJ.
+ *
+ * VLCJ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * VLCJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with VLCJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2019 Caprica Software Limited.
+ */
+
+package uk.co.caprica.vlcj.player.directaudio;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sun.jna.Pointer;
+
+/**
+ * Lock-free ring buffer for audio sample data.
+ * <p>
+ * This buffer supports exactly one producer thread (usually the native audio callback thread) and
+ * exactly one consumer thread. Neither side ever blocks.
+ * <p>
+ * Writes are all-or-nothing, so as long as the producer always writes whole sample blocks the
+ * consumer will always see whole sample blocks.
+ * <p>
+ * The producer may discard all of the data currently in the buffer (e.g. when the native audio
+ * buffer is flushed) by invoking {@link #discard()} - the consumer applies the discard the next
+ * time it reads from the buffer.
+ */
+public final class AudioRingBuffer {
+
+    /**
+     * Sample data.
+     */
+    private final byte[] buffer;
+
+    /**
+     * Buffer capacity, in bytes.
+     */
+    private final int capacity;
+
+    /**
+     * Buffer wrapping the first readable segment of the sample data, used only by the consumer.
+     */
+    private final ByteBuffer firstSegment;
+
+    /**
+     * Buffer wrapping the second readable segment of the sample data, used only by the consumer.
+     */
+    private final ByteBuffer secondSegment;
+
+    /**
+     * Read position at the time of the most recent peek, used only by the consumer.
+     */
+    private long peekPosition;
+
+    /**
+     * Total number of bytes written, only ever updated by the producer.
+     */
+    private final AtomicLong writePosition = new AtomicLong();
+
+    /**
+     * Total number of bytes read, only ever updated by the consumer.
+     */
+    private final AtomicLong readPosition = new AtomicLong();
+
+    /**
+     * Position up to which data has been discarded, only ever updated by the producer.
+     */
+    private final AtomicLong discardPosition = new AtomicLong();
+
+    /**
+     * Create a ring buffer.
+     *
+     * @param capacity capacity, in bytes
+     */
+    public AudioRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be greater than zero");
+        }
+        this.buffer = new byte[capacity];
+        this.capacity = capacity;
+        this.firstSegment = ByteBuffer.wrap(buffer);
+        this.secondSegment = ByteBuffer.wrap(buffer);
+    }
+
+    /**
+     * Get the capacity of the buffer.
+     *
+     * @return capacity, in bytes
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Write native sample data to the buffer.
+     * <p>
+     * Must only be invoked by the producer.
+     *
+     * @param samples native sample data
+     * @param length number of bytes to write
+     * @return <code>true</code> if the data was written; <code>false</code> if there was not enough space
+     */
+    public boolean write(Pointer samples, int length) {
+        long write = writePosition.get();
+        if (length > capacity - (int) (write - readPosition.get())) {
+            return false;
+        }
+        int index = (int) (write % capacity);
+        int first = Math.min(length, capacity - index);
+        samples.read(0, buffer, index, first);
+        if (first < length) {
+            samples.read(first, buffer, 0, length - first);
+        }
+        writePosition.lazySet(write + length);
+        return true;
+    }
+
+    /**
+     * Write sample data to the buffer.
+     * <p>
+     * Must only be invoked by the producer.
+     *
+     * @param data sample data
+     * @param offset offset of the first byte to write
+     * @param length number of bytes to write
+     * @return <code>true</code> if the data was written; <code>false</code> if there was not enough space
+     */
+    public boolean write(byte[] data, int offset, int length) {
+        long write = writePosition.get();
+        if (length > capacity - (int) (write - readPosition.get())) {
+            return false;
+        }
+        int index = (int) (write % capacity);
+        int first = Math.min(length, capacity - index);
+        System.arraycopy(data, offset, buffer, index, first);
+        if (first < length) {
+            System.arraycopy(data, offset + first, buffer, 0, length - first);
+        }
+        writePosition.lazySet(write + length);
+        return true;
+    }
+
+    /**
+     * Discard all of the data currently in the buffer.
+     * <p>
+     * Must only be invoked by the producer.
+     */
+    public void discard() {
+        discardPosition.set(writePosition.get());
+    }
+
+    /**
+     * Read sample data from the buffer.
+     * <p>
+     * Must only be invoked by the consumer.
+     *
+     * @param data array to copy the sample data to
+     * @param offset offset at which to store the first byte
+     * @param length maximum number of bytes to read
+     * @return number of bytes actually read, may be zero
+     */
+    public int read(byte[] data, int offset, int length) {
+        long read = applyDiscard();
+        int count = Math.min(length, (int) (writePosition.get() - read));
+        if (count > 0) {
+            int index = (int) (read % capacity);
+            int first = Math.min(count, capacity - index);
+            System.arraycopy(buffer, index, data, offset, first);
+            if (first < count) {
+                System.arraycopy(buffer, 0, data, offset + first, count - first);
+            }
+            readPosition.lazySet(read + count);
+        }
+        return count;
+    }
+
+    /**
+     * Get the readable sample data without copying it.
+     * <p>
+     * Because the data may wrap around the end of the buffer it is presented as two segments, the
+     * second of which may be empty. The segments share the storage of this buffer and are only valid
+     * until the next invocation of this method.
+     * <p>
+     * The data is not removed from this buffer until {@link #commit(int)} is invoked.
+     * <p>
+     * Must only be invoked by the consumer.
+     *
+     * @param segments array of length two to receive the segments
+     * @param length maximum number of bytes to present
+     * @return total number of bytes presented, may be zero
+     */
+    public int peek(ByteBuffer[] segments, int length) {
+        long read = applyDiscard();
+        int count = Math.min(length, (int) (writePosition.get() - read));
+        int index = (int) (read % capacity);
+        int first = Math.min(count, capacity - index);
+        peekPosition = read;
+        firstSegment.limit(index + first).position(index);
+        secondSegment.limit(count - first).position(0);
+        segments[0] = firstSegment;
+        segments[1] = secondSegment;
+        return count;
+    }
+
+    /**
+     * Remove sample data previously presented by {@link #peek(ByteBuffer[], int)}.
+     * <p>
+     * Must only be invoked by the consumer.
+     *
+     * @param count number of bytes to remove
+     */
+    public void commit(int count) {
+        // If a discard happened since the peek, the presented data is already gone
+        readPosition.lazySet(Math.max(peekPosition + count, discardPosition.get()));
+    }
+
+    /**
+     * Get the number of bytes available to be read.
+     * <p>
+     * Must only be invoked by the consumer.
+     *
+     * @return number of bytes available
+     */
+    public int available() {
+        return (int) (writePosition.get() - applyDiscard());
+    }
+
+    /**
+     * Get the number of bytes currently buffered.
+     * <p>
+     * This is an estimate that may be invoked from any thread.
+     *
+     * @return number of bytes buffered
+     */
+    public int size() {
+        long read = Math.max(readPosition.get(), discardPosition.get());
+        return (int) Math.max(0, writePosition.get() - read);
+    }
+
+    private long applyDiscard() {
+        long read = readPosition.get();
+        long discard = discardPosition.get();
+        if (discard > read) {
+            readPosition.lazySet(discard);
+            return discard;
+        }
+        return read;
+    }
+}
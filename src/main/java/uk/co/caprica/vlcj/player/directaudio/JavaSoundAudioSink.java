@@ -0,0 +1,438 @@
+/*
+ * This file is part of VLCJ.
+ *
+ * VLCJ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * VLCJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with VLCJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2019 Caprica Software Limited.
+ */
+
+package uk.co.caprica.vlcj.player.directaudio;
+
+import java.nio.ByteOrder;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.sun.jna.Pointer;
+
+/**
+ * Implementation of an {@link AudioCallback} that plays the decoded audio samples via JavaSound.
+ * <p>
+ * The native audio thread never blocks on the audio device - samples are simply copied into a
+ * lock-free jitter buffer and a dedicated output thread feeds them to a {@link SourceDataLine}.
+ * <p>
+ * Output starts (and restarts after an underrun) only when the jitter buffer contains at least the
+ * configured start threshold of audio.
+ * <p>
+ * This sink must only be used with the "S16N" audio format, at the same rate and number of
+ * channels that were used to create the {@link DirectAudioPlayer}.
+ * <p>
+ * The sink must be started with {@link #start()} before media is played, and stopped with
+ * {@link #stop()} when it is no longer required.
+ */
+public class JavaSoundAudioSink extends AudioCallbackAdapter {
+
+    /**
+     * Log.
+     */
+    private final Logger logger = LoggerFactory.getLogger(JavaSoundAudioSink.class);
+
+    /**
+     * Default jitter buffer size, in milliseconds.
+     */
+    private static final int DEFAULT_BUFFER_MILLIS = 500;
+
+    /**
+     * Default amount of audio to buffer before starting output, in milliseconds.
+     */
+    private static final int DEFAULT_START_MILLIS = 100;
+
+    /**
+     * Size of the sample data block for each write to the audio line, in milliseconds.
+     */
+    private static final int CHUNK_MILLIS = 10;
+
+    /**
+     * Maximum time to wait for the audio to be drained, in milliseconds.
+     */
+    private static final long DRAIN_TIMEOUT_MILLIS = 5000;
+
+    /**
+     * Time the output thread waits when there is nothing to do, in nanoseconds.
+     */
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+
+    /**
+     * Sample rate.
+     */
+    private final int rate;
+
+    /**
+     * Size of one sample block (all channels), in bytes.
+     */
+    private final int blockSize;
+
+    /**
+     * Minimum number of bytes to buffer before output is started.
+     */
+    private final int startThreshold;
+
+    /**
+     * Audio format for the output line.
+     */
+    private final AudioFormat audioFormat;
+
+    /**
+     * Jitter buffer.
+     */
+    private final AudioRingBuffer ringBuffer;
+
+    /**
+     * Sample data block used by the output thread.
+     */
+    private final byte[] chunk;
+
+    /**
+     * Number of times output ran out of audio while playing.
+     */
+    private final AtomicLong underruns = new AtomicLong();
+
+    /**
+     * Number of sample packets dropped because the jitter buffer was full.
+     */
+    private final AtomicLong overruns = new AtomicLong();
+
+    /**
+     * Signalled by the output thread when a requested drain has completed.
+     */
+    private final Semaphore drained = new Semaphore(0);
+
+    /**
+     * Output line, only valid while started.
+     */
+    private volatile SourceDataLine line;
+
+    /**
+     * Output thread, only valid while started.
+     */
+    private volatile Thread outputThread;
+
+    /**
+     * Flag if the output thread should keep running.
+     */
+    private volatile boolean running;
+
+    /**
+     * Flag if audio is currently paused.
+     */
+    private volatile boolean paused;
+
+    /**
+     * Flag if the output line should be flushed.
+     */
+    private volatile boolean flushRequested;
+
+    /**
+     * Flag if the remaining audio should be drained.
+     */
+    private volatile boolean drainRequested;
+
+    /**
+     * Presentation time stamp at the end of the most recently buffered samples, in microseconds.
+     */
+    private volatile long endPts = -1;
+
+    /**
+     * Create a JavaSound audio sink with a default jitter buffer.
+     *
+     * @param rate sample rate
+     * @param channels number of channels
+     */
+    public JavaSoundAudioSink(int rate, int channels) {
+        this(rate, channels, DEFAULT_BUFFER_MILLIS, DEFAULT_START_MILLIS);
+    }
+
+    /**
+     * Create a JavaSound audio sink.
+     *
+     * @param rate sample rate
+     * @param channels number of channels
+     * @param bufferMillis size of the jitter buffer, in milliseconds
+     * @param startMillis amount of audio to buffer before output is started, in milliseconds
+     */
+    public JavaSoundAudioSink(int rate, int channels, int bufferMillis, int startMillis) {
+        if (startMillis >= bufferMillis) {
+            throw new IllegalArgumentException("startMillis must be less than bufferMillis");
+        }
+        this.rate = rate;
+        this.blockSize = channels * 2;
+        this.startThreshold = bytesFor(startMillis);
+        this.audioFormat = new AudioFormat(rate, 16, channels, true, ByteOrder.nativeOrder() == ByteOrder.BIG_ENDIAN);
+        this.ringBuffer = new AudioRingBuffer(bytesFor(bufferMillis));
+        this.chunk = new byte[bytesFor(CHUNK_MILLIS)];
+    }
+
+    /**
+     * Open the audio line and start the output thread.
+     *
+     * @throws LineUnavailableException if the audio line could not be opened
+     */
+    public void start() throws LineUnavailableException {
+        logger.debug("start()");
+        if (running) {
+            return;
+        }
+        SourceDataLine line = AudioSystem.getSourceDataLine(audioFormat);
+        line.open(audioFormat, chunk.length * 4);
+        this.line = line;
+        this.running = true;
+        Thread thread = new Thread(new OutputTask(), "vlcj-javasound-output");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MAX_PRIORITY);
+        this.outputThread = thread;
+        thread.start();
+    }
+
+    /**
+     * Stop the output thread and close the audio line.
+     * <p>
+     * Any audio remaining in the jitter buffer is discarded.
+     */
+    public void stop() {
+        logger.debug("stop()");
+        Thread thread = outputThread;
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        outputThread = null;
+        line.close();
+        line = null;
+    }
+
+    @Override
+    public final void play(DirectAudioPlayer mediaPlayer, Pointer samples, int sampleCount, long pts) {
+        if (ringBuffer.write(samples, sampleCount * blockSize)) {
+            endPts = pts + sampleCount * 1000000L / rate;
+        }
+        else {
+            overruns.incrementAndGet();
+        }
+    }
+
+    @Override
+    public final void pause(DirectAudioPlayer mediaPlayer, long pts) {
+        paused = true;
+        wakeOutputThread();
+    }
+
+    @Override
+    public final void resume(DirectAudioPlayer mediaPlayer, long pts) {
+        paused = false;
+        wakeOutputThread();
+    }
+
+    @Override
+    public final void flush(DirectAudioPlayer mediaPlayer, long pts) {
+        ringBuffer.discard();
+        endPts = -1;
+        flushRequested = true;
+        wakeOutputThread();
+    }
+
+    @Override
+    public final void drain(DirectAudioPlayer mediaPlayer) {
+        if (outputThread == null) {
+            return;
+        }
+        drained.drainPermits();
+        drainRequested = true;
+        wakeOutputThread();
+        try {
+            if (!drained.tryAcquire(DRAIN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                logger.warn("Timed out waiting for audio to drain");
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Get the number of times output ran out of audio while playing.
+     *
+     * @return underrun count
+     */
+    public final long underruns() {
+        return underruns.get();
+    }
+
+    /**
+     * Get the number of sample packets that were dropped because the jitter buffer was full.
+     *
+     * @return overrun count
+     */
+    public final long overruns() {
+        return overruns.get();
+    }
+
+    /**
+     * Get the current output latency.
+     * <p>
+     * This is the amount of audio buffered both in the jitter buffer and in the audio line, i.e.
+     * how long it will take before audio delivered by the native callback now will be heard.
+     *
+     * @return latency, in milliseconds
+     */
+    public final long latency() {
+        SourceDataLine line = this.line;
+        int buffered = ringBuffer.size();
+        if (line != null) {
+            buffered += line.getBufferSize() - line.available();
+        }
+        return buffered * 1000L / (rate * blockSize);
+    }
+
+    /**
+     * Get the presentation time stamp of the audio currently being heard.
+     * <p>
+     * This is estimated from the time stamp of the most recently buffered samples and the current
+     * output latency.
+     *
+     * @return presentation time stamp, in microseconds, or -1 if not known
+     */
+    public final long pts() {
+        long endPts = this.endPts;
+        return endPts != -1 ? Math.max(0, endPts - latency() * 1000) : -1;
+    }
+
+    private int bytesFor(int millis) {
+        return (int) ((long) rate * millis / 1000) * blockSize;
+    }
+
+    private void wakeOutputThread() {
+        Thread thread = outputThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Task executed by the output thread.
+     * <p>
+     * Every change to the state of the audio line is made on this thread.
+     */
+    private final class OutputTask implements Runnable {
+
+        /**
+         * Flag if output is waiting for the jitter buffer to fill.
+         */
+        private boolean buffering = true;
+
+        @Override
+        public void run() {
+            logger.debug("output thread started");
+            SourceDataLine line = JavaSoundAudioSink.this.line;
+            while (running) {
+                if (flushRequested) {
+                    flushRequested = false;
+                    line.stop();
+                    line.flush();
+                    buffering = true;
+                }
+                if (paused) {
+                    if (line.isRunning()) {
+                        line.stop();
+                    }
+                    LockSupport.parkNanos(IDLE_NANOS);
+                    continue;
+                }
+                int available = ringBuffer.available();
+                if (buffering) {
+                    if (available >= startThreshold || (drainRequested && available > 0)) {
+                        buffering = false;
+                        line.start();
+                    }
+                    else if (drainRequested) {
+                        completeDrain(line);
+                        continue;
+                    }
+                    else {
+                        LockSupport.parkNanos(IDLE_NANOS);
+                        continue;
+                    }
+                }
+                else if (!line.isRunning()) {
+                    line.start();
+                }
+                int space = line.available();
+                int length = Math.min(chunk.length, space - space % blockSize);
+                int count = length > 0 ? ringBuffer.read(chunk, 0, length) : 0;
+                if (count > 0) {
+                    line.write(chunk, 0, count);
+                }
+                else if (length > 0) {
+                    if (drainRequested) {
+                        completeDrain(line);
+                    }
+                    else if (space >= line.getBufferSize()) {
+                        underruns.incrementAndGet();
+                        logger.trace("underrun");
+                        line.stop();
+                        buffering = true;
+                    }
+                    else {
+                        LockSupport.parkNanos(IDLE_NANOS);
+                    }
+                }
+                else {
+                    LockSupport.parkNanos(IDLE_NANOS);
+                }
+            }
+            line.stop();
+            line.flush();
+            if (drainRequested) {
+                drainRequested = false;
+                drained.release();
+            }
+            logger.debug("output thread finished");
+        }
+
+        private void completeDrain(SourceDataLine line) {
+            // A stopped line with queued data would never finish draining
+            line.start();
+            line.drain();
+            line.stop();
+            buffering = true;
+            drainRequested = false;
+            drained.release();
+        }
+    }
+}
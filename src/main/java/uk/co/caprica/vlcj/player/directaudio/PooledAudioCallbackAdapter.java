@@ -0,0 +1,128 @@
+/*
+ * This file is part of VLCJ.
+ *
+ * VLCJ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * VLCJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with VLCJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2019 Caprica Software Limited.
+ */
+
+package uk.co.caprica.vlcj.player.directaudio;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import com.sun.jna.Pointer;
+
+/**
+ * Implementation of an {@link AudioCallbackAdapter} that copies the native sample data into a
+ * re-usable buffer rather than allocating a new array for each callback.
+ * <p>
+ * One buffer is kept for each instance of this adapter (and therefore for each media player). The
+ * buffer is sized for the largest sample packet seen so far, so after the first few callbacks no
+ * further allocations are made.
+ * <p>
+ * The buffer passed to {@link #onPlay(DirectAudioPlayer, ByteBuffer, int, long)} is only valid for
+ * the duration of that call - the same buffer will be filled with new sample data on the next
+ * callback, so if an application needs to keep the sample data it must copy it.
+ * <p>
+ * The buffer uses native byte order, matching the "N" audio formats (e.g. "S16N", "FL32").
+ */
+public abstract class PooledAudioCallbackAdapter extends AudioCallbackAdapter {
+
+    /**
+     * Default number of samples to allocate the buffer for initially.
+     */
+    private static final int DEFAULT_SAMPLE_CAPACITY = 4096;
+
+    /**
+     * Fixed block size for each sample.
+     */
+    protected final int blockSize;
+
+    /**
+     * Re-usable sample data array.
+     */
+    private byte[] data;
+
+    /**
+     * Buffer wrapping the sample data array.
+     */
+    private ByteBuffer buffer;
+
+    /**
+     * Create an audio callback.
+     *
+     * @param blockSize block size for each sample
+     */
+    public PooledAudioCallbackAdapter(int blockSize) {
+        this(blockSize, DEFAULT_SAMPLE_CAPACITY);
+    }
+
+    /**
+     * Create an audio callback.
+     *
+     * @param blockSize block size for each sample
+     * @param sampleCapacity number of samples to allocate the buffer for initially
+     */
+    public PooledAudioCallbackAdapter(int blockSize, int sampleCapacity) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("blockSize must be greater than zero");
+        }
+        if (sampleCapacity <= 0) {
+            throw new IllegalArgumentException("sampleCapacity must be greater than zero");
+        }
+        this.blockSize = blockSize;
+        allocate(sampleCapacity * blockSize);
+    }
+
+    @Override
+    public final void play(DirectAudioPlayer mediaPlayer, Pointer samples, int sampleCount, long pts) {
+        int size = sampleCount * blockSize;
+        if (size > data.length) {
+            allocate(size);
+        }
+        samples.read(0, data, 0, size);
+        buffer.clear();
+        buffer.limit(size);
+        onPlay(mediaPlayer, buffer, sampleCount, pts);
+    }
+
+    /**
+     * Get the current capacity of the sample buffer, in bytes.
+     *
+     * @return capacity
+     */
+    public final int capacity() {
+        return data.length;
+    }
+
+    private void allocate(int size) {
+        data = new byte[size];
+        buffer = ByteBuffer.wrap(data).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Template method to receive the decoded samples.
+     * <p>
+     * The buffer position is zero and the limit is the number of valid bytes of sample data.
+     * <p>
+     * The buffer is owned by this adapter and is re-used for subsequent callbacks.
+     *
+     * @param mediaPlayer media player
+     * @param data sample data
+     * @param sampleCount number of samples
+     * @param pts presentation time stamp
+     */
+    protected abstract void onPlay(DirectAudioPlayer mediaPlayer, ByteBuffer data, int sampleCount, long pts);
+}
@@ -0,0 +1,90 @@
+/*
+ * This file is part of VLCJ.
+ *
+ * VLCJ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * VLCJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with VLCJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2019 Caprica Software Limited.
+ */
+
+package uk.co.caprica.vlcj.player.directaudio;
+
+import java.nio.ByteBuffer;
+import java.nio.ShortBuffer;
+
+/**
+ * Implementation of a {@link PooledAudioCallbackAdapter} that presents the sample data as signed
+ * 16-bit values.
+ * <p>
+ * This adapter must only be used with the "S16N" audio format.
+ * <p>
+ * The buffer passed to {@link #onPlay(DirectAudioPlayer, ShortBuffer, int, long)} is re-used for
+ * subsequent callbacks.
+ */
+public abstract class ShortAudioCallbackAdapter extends PooledAudioCallbackAdapter {
+
+    /**
+     * Buffer the current view was created from.
+     */
+    private ByteBuffer source;
+
+    /**
+     * Typed view of the sample data.
+     */
+    private ShortBuffer view;
+
+    /**
+     * Create an audio callback.
+     *
+     * @param channels number of audio channels
+     */
+    public ShortAudioCallbackAdapter(int channels) {
+        super(channels * 2);
+    }
+
+    /**
+     * Create an audio callback.
+     *
+     * @param channels number of audio channels
+     * @param sampleCapacity number of samples to allocate the buffer for initially
+     */
+    public ShortAudioCallbackAdapter(int channels, int sampleCapacity) {
+        super(channels * 2, sampleCapacity);
+    }
+
+    @Override
+    protected final void onPlay(DirectAudioPlayer mediaPlayer, ByteBuffer data, int sampleCount, long pts) {
+        if (data != source) {
+            int limit = data.limit();
+            data.clear();
+            view = data.asShortBuffer();
+            data.limit(limit);
+            source = data;
+        }
+        view.clear();
+        view.limit(data.limit() / 2);
+        onPlay(mediaPlayer, view, sampleCount, pts);
+    }
+
+    /**
+     * Template method to receive the decoded samples.
+     * <p>
+     * Channels are interleaved, so the buffer contains <code>sampleCount * channels</code> values.
+     *
+     * @param mediaPlayer media player
+     * @param data sample data
+     * @param sampleCount number of samples
+     * @param pts presentation time stamp
+     */
+    protected abstract void onPlay(DirectAudioPlayer mediaPlayer, ShortBuffer data, int sampleCount, long pts);
+}
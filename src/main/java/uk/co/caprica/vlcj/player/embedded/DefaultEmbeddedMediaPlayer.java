@@ -22,6 +22,7 @@ package uk.co.caprica.vlcj.player.embedded;
 import uk.co.caprica.vlcj.binding.LibVlc;
 import uk.co.caprica.vlcj.binding.internal.libvlc_instance_t;
 import uk.co.caprica.vlcj.player.base.DefaultMediaPlayer;
+import uk.co.caprica.vlcj.player.base.StartupStage;
 
 // FIXME remember we need to abstract out Canvas i think
 //  in the attach method it checks isVisible, that should probably go in the CanvasVideoSurface implementation, not in this class
@@ -123,6 +124,11 @@ public class DefaultEmbeddedMediaPlayer extends DefaultMediaPlayer implements Em
         videoSurface().attachVideoSurface();
     }
 
+    @Override
+    protected final StartupStage finalStartupStage() {
+        return StartupStage.VIDEO_OUTPUT;
+    }
+
     @Override
     protected void onBeforeRelease() {
         fullScreenService  .release();
@@ -0,0 +1,143 @@
+/*
+ * This file is part of VLCJ.
+ *
+ * VLCJ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * VLCJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with VLCJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2019 Caprica Software Limited.
+ */
+
+
+package uk.co.caprica.vlcj.player.executor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor used to tear down native resources in the background.
+ * <p>
+ * Stopping or releasing a native media player can block for a significant time (e.g. while a network stream or the
+ * video output is closed). Those calls are handed to this executor so that the calling thread, often the application
+ * user interface thread, does not have to wait.
+ * <p>
+ * The executor has a small, fixed, number of daemon threads so that a burst of teardowns does not create a burst of
+ * threads - pending teardowns are queued, never rejected. The threads are discarded when idle.
+ * <p>
+ * This executor is deliberately separate from the {@link SharedExecutor}, a slow teardown must not hold up the tasks
+ * of media players that are still in use.
+ */
+public final class Reaper {
+
+    /**
+     * Maximum number of teardowns that run concurrently.
+     */
+    private static final int THREADS = 2;
+
+    /**
+     * Time, in seconds, that an idle reaper thread is kept before it is discarded.
+     */
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    /**
+     * Prevent direct instantiation by others.
+     */
+    private Reaper() {
+    }
+
+    /**
+     * Submit a teardown task.
+     *
+     * @param task task to run
+     * @return future that completes when the task has finished
+     */
+    public static Future<Void> submit(Runnable task) {
+        return submit(ReaperHolder.EXECUTOR, task);
+    }
+
+    /**
+     * Submit a teardown task to a particular executor, e.g. one from {@link #newSerialExecutor()}.
+     *
+     * @param executor executor used to run the task
+     * @param task task to run
+     * @return future that completes when the task has finished
+     */
+    public static Future<Void> submit(Executor executor, Runnable task) {
+        FutureTask<Void> result = new FutureTask<Void>(task, null);
+        executor.execute(result);
+        return result;
+    }
+
+    /**
+     * Create a new serial executor on the reaper threads.
+     * <p>
+     * Teardowns of the same native instance (e.g. a stop followed by a release) must never run at the same time, so
+     * each media player submits its teardowns to its own serial executor.
+     *
+     * @return serial executor
+     */
+    public static SerialExecutor newSerialExecutor() {
+        return new SerialExecutor(ReaperHolder.EXECUTOR);
+    }
+
+    /**
+     * Get a future that has already completed, for when there is nothing left to tear down.
+     *
+     * @return completed future
+     */
+    public static Future<Void> completed() {
+        FutureTask<Void> result = new FutureTask<Void>(NOTHING, null);
+        result.run();
+        return result;
+    }
+
+    private static final Runnable NOTHING = new Runnable() {
+        @Override
+        public void run() {
+        }
+    };
+
+    /**
+     * Lazily create the executor on first use.
+     */
+    private static final class ReaperHolder {
+        private static final ThreadPoolExecutor EXECUTOR = newExecutor();
+
+        private static ThreadPoolExecutor newExecutor() {
+            ThreadPoolExecutor result = new ThreadPoolExecutor(THREADS, THREADS, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ReaperThreadFactory());
+            result.allowCoreThreadTimeOut(true);
+            return result;
+        }
+    }
+
+    /**
+     * Factory for the daemon reaper threads.
+     */
+    private static final class ReaperThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "vlcj-reaper-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+}
@@ -0,0 +1,201 @@
+/*
+ * This file is part of VLCJ.
+ *
+ * VLCJ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * VLCJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with VLCJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2019 Caprica Software Limited.
+ */
+
+package uk.co.caprica.vlcj.player.executor;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executor that runs tasks one at a time, in submission order, using the threads of some other executor.
+ * <p>
+ * Many serial executors can share the same underlying executor. Tasks from the same serial executor never run
+ * concurrently and always run in the order they were submitted, but there is no ordering between different serial
+ * executors.
+ * <p>
+ * Only one task is run each time the underlying executor runs this executor, so a serial executor with a lot of work
+ * to do does not starve the others.
+ * <p>
+ * See {@link SharedExecutor#newSerialExecutor()}.
+ */
+public final class SerialExecutor implements Executor {
+
+    /**
+     * Underlying executor used to run the tasks.
+     */
+    private final Executor executor;
+
+    /**
+     * Tasks waiting to be run.
+     */
+    private final Queue<Runnable> tasks = new ArrayDeque<Runnable>();
+
+    /**
+     * Runs the next task.
+     */
+    private final Runnable runNext = new Runnable() {
+        @Override
+        public void run() {
+            runNext();
+        }
+    };
+
+    /**
+     * Flag whether or not {@link #runNext} is waiting on, or running in, the underlying executor.
+     */
+    private boolean scheduled;
+
+    /**
+     * Flag whether or not this executor has been shut down.
+     */
+    private boolean shutdown;
+
+    /**
+     * Thread currently running a task, if any.
+     */
+    private Thread runner;
+
+    /**
+     * Create a serial executor.
+     *
+     * @param executor underlying executor used to run the tasks
+     */
+    public SerialExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (task == null) {
+            throw new NullPointerException();
+        }
+        synchronized (this) {
+            if (shutdown) {
+                throw new RejectedExecutionException("Executor has been shut down");
+            }
+            tasks.add(task);
+            if (scheduled) {
+                return;
+            }
+            scheduled = true;
+        }
+        schedule();
+    }
+
+    /**
+     * Shut down this executor.
+     * <p>
+     * Tasks that have not yet started are discarded, and a task that is currently running is interrupted. This method
+     * then waits for that task to finish, up to the given timeout.
+     * <p>
+     * If this method is invoked by the task that is currently running it will not wait.
+     * <p>
+     * The underlying executor is not affected.
+     *
+     * @param timeout maximum time to wait
+     * @param unit unit of the timeout value
+     * @return <code>true</code> if no task is still running; <code>false</code> if the timeout elapsed first
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public synchronized boolean shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        shutdown = true;
+        tasks.clear();
+        Thread currentThread = Thread.currentThread();
+        if (runner == null || runner == currentThread) {
+            return true;
+        }
+        runner.interrupt();
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (runner != null && runner != currentThread) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        return true;
+    }
+
+    /**
+     * Has this executor been shut down?
+     *
+     * @return <code>true</code> if shut down; <code>false</code> otherwise
+     */
+    public synchronized boolean isShutdown() {
+        return shutdown;
+    }
+
+    private void schedule() {
+        try {
+            executor.execute(runNext);
+        }
+        catch (RejectedExecutionException e) {
+            synchronized (this) {
+                scheduled = false;
+            }
+            throw e;
+        }
+    }
+
+    private void runNext() {
+        Runnable task;
+        synchronized (this) {
+            task = shutdown ? null : tasks.poll();
+            if (task == null) {
+                scheduled = false;
+                return;
+            }
+            runner = Thread.currentThread();
+        }
+        try {
+            task.run();
+        }
+        catch (RuntimeException e) {
+            // A failed task must not prevent the tasks that follow from running (the same as an executor service would
+            // do when a task is submitted)
+        }
+        finally {
+            boolean more;
+            synchronized (this) {
+                runner = null;
+                if (shutdown) {
+                    // Clear any interrupt from shutdown so it does not leak into the next task for the shared thread
+                    Thread.interrupted();
+                }
+                more = !shutdown && !tasks.isEmpty();
+                if (!more) {
+                    scheduled = false;
+                }
+                notifyAll();
+            }
+            if (more) {
+                try {
+                    schedule();
+                }
+                catch (RejectedExecutionException e) {
+                    // The underlying executor has been shut down, remaining tasks can never run
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,150 @@
+/*
+ * This file is part of VLCJ.
+ *
+ * VLCJ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * VLCJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with VLCJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2019 Caprica Software Limited.
+ */
+
+package uk.co.caprica.vlcj.player.executor;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared executor used to run tasks for all media players.
+ * <p>
+ * Each media player needs its tasks executed in order, off of the native callback thread, but it does not need a thread
+ * of its own to do that. Instead, each media player gets a {@link SerialExecutor} from {@link #newSerialExecutor()} and
+ * those serial executors all run on a single common executor - so the number of threads is independent of the number
+ * of media players.
+ * <p>
+ * By default the common executor is a thread pool with at most one thread per available processor (and at least two).
+ * The pool threads are daemon threads and are discarded when idle, so an application with no active media players has
+ * no task threads at all.
+ * <p>
+ * If the system property {@value #VIRTUAL_THREADS_SYSTEM_PROPERTY_NAME} is set to <code>true</code>, and the run-time
+ * supports virtual threads, a virtual thread per task executor is used as the common executor instead.
+ * <p>
+ * An application may provide its own common executor with {@link #setExecutor(Executor)}. This must be done before any
+ * media players are created, existing media players keep using the executor that was current when they were created.
+ */
+public final class SharedExecutor {
+
+    /**
+     * Name of the system property used to request virtual threads.
+     */
+    public static final String VIRTUAL_THREADS_SYSTEM_PROPERTY_NAME = "vlcj.executor.virtual";
+
+    /**
+     * Time, in seconds, that an idle pool thread is kept before it is discarded.
+     */
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    /**
+     * Common executor, created on first use.
+     */
+    private static Executor executor;
+
+    /**
+     * Prevent direct instantiation by others.
+     */
+    private SharedExecutor() {
+    }
+
+    /**
+     * Set the common executor used to run media player tasks.
+     * <p>
+     * Tasks submitted to the executor may block (e.g. waiting for a native media player to reach a particular state), so
+     * an executor with only a single thread should not be used if there are many media players.
+     *
+     * @param executor executor, or <code>null</code> to revert to the default executor
+     */
+    public static synchronized void setExecutor(Executor executor) {
+        SharedExecutor.executor = executor;
+    }
+
+    /**
+     * Get the common executor used to run media player tasks.
+     *
+     * @return executor
+     */
+    public static synchronized Executor executor() {
+        if (executor == null) {
+            executor = newDefaultExecutor();
+        }
+        return executor;
+    }
+
+    /**
+     * Create a new serial executor on the current common executor.
+     *
+     * @return serial executor
+     */
+    public static SerialExecutor newSerialExecutor() {
+        return new SerialExecutor(executor());
+    }
+
+    private static Executor newDefaultExecutor() {
+        if (Boolean.getBoolean(VIRTUAL_THREADS_SYSTEM_PROPERTY_NAME)) {
+            Executor result = newVirtualThreadExecutor();
+            if (result != null) {
+                return result;
+            }
+        }
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        ThreadPoolExecutor result = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new TaskThreadFactory());
+        result.allowCoreThreadTimeOut(true);
+        return result;
+    }
+
+    /**
+     * Create an executor that uses a new virtual thread for each task.
+     * <p>
+     * Reflection is used so that this class can still be loaded on run-times that do not have virtual threads.
+     *
+     * @return executor, or <code>null</code> if virtual threads are not available
+     */
+    private static Executor newVirtualThreadExecutor() {
+        try {
+            Method method = java.util.concurrent.Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        }
+        catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Factory for the daemon threads used by the default executor.
+     */
+    private static final class TaskThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "vlcj-task-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+}
@@ -0,0 +1,4 @@
+/**
+ * Provides the shared task executor used by media players to off-load work from native callback threads.
+ */
+package uk.co.caprica.vlcj.player.executor;
@@ -24,10 +24,13 @@ import uk.co.caprica.vlcj.binding.internal.libvlc_instance_t;
 import uk.co.caprica.vlcj.binding.internal.libvlc_media_list_player_t;
 import uk.co.caprica.vlcj.player.base.MediaPlayer;
 import uk.co.caprica.vlcj.player.embedded.EmbeddedMediaPlayer;
+import uk.co.caprica.vlcj.player.executor.Reaper;
+import uk.co.caprica.vlcj.player.executor.SerialExecutor;
+import uk.co.caprica.vlcj.player.executor.SharedExecutor;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Implementation of a media list player.
@@ -53,17 +56,25 @@ public class DefaultMediaListPlayer implements MediaListPlayer {
     private libvlc_media_list_player_t mediaListPlayerInstance;
 
     /**
-     * Single-threaded service to execute tasks that need to be off-loaded from a native callback thread.
+     * Serial executor to execute tasks that need to be off-loaded from a native callback thread.
      * <p>
      * Native events are generated on a native event callback thread. It is not allowed to call back into LibVLC from
      * this thread, if you do either the call will be ineffective, strange behaviour will happen, or a fatal JVM crash
      * may occur.
      * <p>
-     * To mitigate this, tasks can be serialised and executed using this service.
+     * To mitigate this, tasks can be serialised and executed using this executor.
+     * <p>
+     * Tasks for this player are executed in order, but the threads that execute them are shared with all other media
+     * players, see {@link SharedExecutor}.
      * <p>
      * See {@link #submit(Runnable)}.
      */
-    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final SerialExecutor executor = SharedExecutor.newSerialExecutor();
+
+    /**
+     * Flag whether or not this media list player has been released (or is being released).
+     */
+    private final AtomicBoolean released = new AtomicBoolean();
 
     private final ControlsService    controlsService;
     private final EventService       eventService;
@@ -107,6 +118,7 @@ public class DefaultMediaListPlayer implements MediaListPlayer {
 
     @Override
     public ControlsService controls() {
+        checkNotReleased();
         return controlsService;
     }
 
@@ -117,21 +129,25 @@ public class DefaultMediaListPlayer implements MediaListPlayer {
 
     @Override
     public ListService list() {
+        checkNotReleased();
         return listService;
     }
 
     @Override
     public MediaPlayerService mediaPlayer() {
+        checkNotReleased();
         return mediaPlayerService;
     }
 
     @Override
     public ModeService mode() {
+        checkNotReleased();
         return modeService;
     }
 
     @Override
     public StatusService status() {
+        checkNotReleased();
         return statusService;
     }
 
@@ -140,10 +156,60 @@ public class DefaultMediaListPlayer implements MediaListPlayer {
         return userDataService;
     }
 
+    /**
+     * Check that this media list player has not been released, before handing out a service that calls into the native
+     * media list player.
+     * <p>
+     * The event and user data services do not touch the native media list player, so they remain available (e.g. to
+     * remove listeners), the same as for a media player.
+     *
+     * @throws IllegalStateException if the media list player has been released
+     */
+    private void checkNotReleased() {
+        if (released.get()) {
+            throw new IllegalStateException("Media list player has been released");
+        }
+    }
+
+    /**
+     * Has this media list player been released?
+     *
+     * @return <code>true</code> if release has started; <code>false</code> otherwise
+     */
+    final boolean isReleased() {
+        return released.get();
+    }
+
     @Override
     public final void release() {
-        shutdownExecutor();
+        if (released.compareAndSet(false, true)) {
+            shutdownExecutor();
+            releaseResources();
+        }
+    }
+
+    @Override
+    public final Future<Void> releaseAsync() {
+        if (!released.compareAndSet(false, true)) {
+            return Reaper.completed();
+        }
+        // Refuse new tasks and discard pending tasks now, without waiting for a running task to finish
+        discardTasks();
+        return Reaper.submit(new Runnable() {
+            @Override
+            public void run() {
+                shutdownExecutor();
+                releaseResources();
+            }
+        });
+    }
 
+    /**
+     * Free the services and the native media list player.
+     * <p>
+     * The executor must already have been shut down.
+     */
+    private void releaseResources() {
         onBeforeRelease();
 
         controlsService   .release();
@@ -166,18 +232,28 @@ public class DefaultMediaListPlayer implements MediaListPlayer {
      * queue to be executed (e.g. we do not want to destroy the native media player if a task is running that is going
      * to invoke a call on the native media player).
      * <p>
-     * So, we first shutdown the executor service then await termination of all tasks. If there are no pending tasks we
-     * will terminate immediately as normal. If there are tasks, we wait for a short timeout period before forcing a
-     * termination anyway.
+     * So, we first shutdown the executor, discarding any pending tasks, then await completion of any running task. If
+     * there is no running task we will terminate immediately as normal. If there is, we wait for a short timeout period
+     * before carrying on anyway.
      * <p>
      * We should never really be waiting any significant amount of time for the queued tasks to terminate because they
      * will be very few in number, and should execute very quickly anyway. Even the short wait before timeout may be
      * useful to avoid any hard crashes during clean-up.
      */
     private void shutdownExecutor() {
-        executor.shutdownNow();
         try {
-            executor.awaitTermination(5, TimeUnit.SECONDS);
+            executor.shutdown(5, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException e) {
+        }
+    }
+
+    /**
+     * Shutdown the task executor service without waiting for a running task to finish.
+     */
+    private void discardTasks() {
+        try {
+            executor.shutdown(0, TimeUnit.SECONDS);
         }
         catch (InterruptedException e) {
         }
@@ -190,7 +266,7 @@ public class DefaultMediaListPlayer implements MediaListPlayer {
      */
     @Override
     public final void submit(Runnable r) {
-        executor.submit(r);
+        executor.execute(r);
     }
 
     /**
@@ -82,7 +82,8 @@ public final class EventService extends BaseService {
      * @param mediaListPlayerEvent event to raise, may be <code>null</code> and if so will be ignored
      */
     void raiseEvent(MediaListPlayerEvent mediaListPlayerEvent) {
-        if (mediaListPlayerEvent != null) {
+        // Once release has started the media list player must not be used, so neither must any listener be told about it
+        if (mediaListPlayerEvent != null && !mediaListPlayer.isReleased()) {
             for (MediaListPlayerEventListener listener : eventListenerList) {
                 mediaListPlayerEvent.notify(listener);
             }
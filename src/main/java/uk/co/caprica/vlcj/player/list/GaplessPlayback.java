@@ -0,0 +1,429 @@
+/*
+ * This file is part of VLCJ.
+ *
+ * VLCJ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * VLCJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with VLCJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2019 Caprica Software Limited.
+ */
+
+package uk.co.caprica.vlcj.player.list;
+
+import uk.co.caprica.vlcj.media.Media;
+import uk.co.caprica.vlcj.medialist.MediaList;
+import uk.co.caprica.vlcj.player.MediaPlayerEventAdapter;
+import uk.co.caprica.vlcj.player.base.MediaPlayer;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Plays the items in a media list with (near) gapless transitions between items.
+ * <p>
+ * A native media list player opens, probes and buffers each item only after the previous item has finished, leaving a
+ * gap between items. This component instead uses two media players. While one media player is playing an item, the
+ * next item is opened on the other (standby) media player a configurable time before the current item ends. The next
+ * item is started paused, so by the time the current item finishes the standby media player has already opened and
+ * buffered the next item and only needs to be resumed. The two media players then swap roles.
+ * <p>
+ * The two media players should normally be created by the same factory with the same configuration. For video, the
+ * application must show the video surface of whichever media player is currently active, see
+ * {@link GaplessPlaybackListener}. This is most useful for audio and headless (e.g. streaming output) players.
+ * <p>
+ * Each item is played using a copy of the media from the list (see {@link Media#duplicate()}), so the media in the list
+ * are not changed. The media list itself is not owned by this component, and neither are the media players.
+ * <p>
+ * The media players should not be controlled directly while this component is in use, other than by
+ * {@link #play(int)} and {@link #stop()}.
+ */
+public final class GaplessPlayback {
+
+    /**
+     * Media option used to open the next item without starting play-back.
+     */
+    private static final String START_PAUSED_OPTION = ":start-paused";
+
+    /**
+     * Media list to play.
+     */
+    private final MediaList mediaList;
+
+    /**
+     * The two media players, one active and one standby.
+     */
+    private final MediaPlayer[] mediaPlayers;
+
+    /**
+     * Listeners for the two media players.
+     */
+    private final PlayerEventHandler[] eventHandlers;
+
+    /**
+     * Time before the end of the current item at which to preload the next item, in milliseconds.
+     */
+    private final long preloadMillis;
+
+    /**
+     * Collection of components listening for item changes.
+     */
+    private final List<GaplessPlaybackListener> listeners = new CopyOnWriteArrayList<GaplessPlaybackListener>();
+
+    /**
+     * Media currently set on each media player, owned by this component.
+     */
+    private final Media[] media = new Media[2];
+
+    /**
+     * Index of the active media player.
+     */
+    private volatile int active;
+
+    /**
+     * Index of the item playing on the active media player, or -1 if nothing is playing.
+     */
+    private volatile int currentIndex = -1;
+
+    /**
+     * Index of the item preloaded on the standby media player, or -1 if nothing is preloaded.
+     */
+    private int preloadedIndex = -1;
+
+    /**
+     * Flag whether or not the next item has been requested to be preloaded for the current item.
+     */
+    private final AtomicBoolean preloadRequested = new AtomicBoolean();
+
+    /**
+     * Length of the item on each media player, in milliseconds, or zero if not yet known.
+     * <p>
+     * The length of a preloaded item is reported while its media player is still the standby, so it is recorded for
+     * both media players regardless of which is active.
+     */
+    private final long[] lengths = new long[2];
+
+    /**
+     * Generation number, incremented whenever play-back is explicitly started or stopped so that stale tasks can be
+     * ignored.
+     */
+    private volatile int generation;
+
+    /**
+     * Flag whether or not to go back to the first item after the last item has finished.
+     */
+    private boolean loop;
+
+    /**
+     * Flag whether or not this component has been released.
+     */
+    private boolean released;
+
+    /**
+     * Create a gapless play-back component.
+     *
+     * @param mediaList media list to play
+     * @param first first media player
+     * @param second second media player
+     * @param preloadMillis time before the end of each item at which to preload the next item, in milliseconds
+     */
+    public GaplessPlayback(MediaList mediaList, MediaPlayer first, MediaPlayer second, long preloadMillis) {
+        if (first == second) {
+            throw new IllegalArgumentException("Two different media players are required");
+        }
+        this.mediaList = mediaList;
+        this.mediaPlayers = new MediaPlayer[] {first, second};
+        this.preloadMillis = preloadMillis;
+        this.eventHandlers = new PlayerEventHandler[] {new PlayerEventHandler(0), new PlayerEventHandler(1)};
+        first.events().addMediaPlayerEventListener(eventHandlers[0]);
+        second.events().addMediaPlayerEventListener(eventHandlers[1]);
+    }
+
+    /**
+     * Add a component to be notified of item changes.
+     *
+     * @param listener component to notify
+     */
+    public void addGaplessPlaybackListener(GaplessPlaybackListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Remove a component that was previously interested in item changes.
+     *
+     * @param listener component to stop notifying
+     */
+    public void removeGaplessPlaybackListener(GaplessPlaybackListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Set whether or not to go back to the first item after the last item has finished.
+     *
+     * @param loop <code>true</code> to loop; <code>false</code> to stop after the last item
+     */
+    public synchronized void setLoop(boolean loop) {
+        this.loop = loop;
+    }
+
+    /**
+     * Play an item, stopping whatever is currently playing.
+     *
+     * @param index index of the item in the media list
+     * @return <code>true</code> if the item was started; <code>false</code> if there is no such item
+     */
+    public synchronized boolean play(int index) {
+        if (released) {
+            return false;
+        }
+        generation++;
+        stopPlayers();
+        return start(index);
+    }
+
+    /**
+     * Stop play-back.
+     */
+    public synchronized void stop() {
+        if (released) {
+            return;
+        }
+        generation++;
+        stopPlayers();
+        currentIndex = -1;
+    }
+
+    /**
+     * Get the media player that is currently active.
+     *
+     * @return active media player
+     */
+    public synchronized MediaPlayer activePlayer() {
+        return mediaPlayers[active];
+    }
+
+    /**
+     * Get the index of the item currently playing.
+     *
+     * @return item index, or -1 if nothing is playing
+     */
+    public synchronized int index() {
+        return currentIndex;
+    }
+
+    /**
+     * Release this component.
+     * <p>
+     * Play-back is stopped, but neither the media list nor the media players are released.
+     */
+    public synchronized void release() {
+        if (released) {
+            return;
+        }
+        stop();
+        released = true;
+        for (int i = 0; i < mediaPlayers.length; i++) {
+            mediaPlayers[i].events().removeMediaPlayerEventListener(eventHandlers[i]);
+        }
+        listeners.clear();
+    }
+
+    private void stopPlayers() {
+        for (MediaPlayer mediaPlayer : mediaPlayers) {
+            mediaPlayer.controls().stop();
+        }
+        preloadedIndex = -1;
+        preloadRequested.set(false);
+        setLength(0, 0);
+        setLength(1, 0);
+    }
+
+    /**
+     * Start playing an item on the active media player.
+     *
+     * @param index index of the item in the media list
+     * @return <code>true</code> if the item was started; <code>false</code> if there is no such item
+     */
+    private boolean start(int index) {
+        if (!setMedia(active, index, false)) {
+            currentIndex = -1;
+            return false;
+        }
+        currentIndex = index;
+        mediaPlayers[active].controls().play();
+        fireItemChanged(mediaPlayers[active], index);
+        return true;
+    }
+
+    /**
+     * Set a copy of a media list item on one of the media players.
+     *
+     * @param player index of the media player
+     * @param index index of the item in the media list
+     * @param startPaused <code>true</code> if the item should start paused
+     * @return <code>true</code> if the media was set; <code>false</code> if there is no such item
+     */
+    private boolean setMedia(int player, int index, boolean startPaused) {
+        Media item = index >= 0 && index < mediaList.items().count() ? mediaList.items().getMedia(index) : null;
+        if (item == null) {
+            return false;
+        }
+        Media copy = item.duplicate();
+        item.release();
+        if (copy == null) {
+            return false;
+        }
+        if (startPaused) {
+            copy.options().addOptions(START_PAUSED_OPTION);
+        }
+        mediaPlayers[player].media().set(copy);
+        if (media[player] != null) {
+            media[player].release();
+        }
+        media[player] = copy;
+        return true;
+    }
+
+    /**
+     * Get the index of the item that follows the current item.
+     *
+     * @return next item index, or -1 if there is no next item
+     */
+    private int nextIndex() {
+        int next = currentIndex + 1;
+        if (next >= mediaList.items().count()) {
+            next = loop ? 0 : -1;
+        }
+        return next;
+    }
+
+    /**
+     * Preload the next item on the standby media player.
+     *
+     * @param taskGeneration generation at the time the task was created
+     */
+    private synchronized void preload(int taskGeneration) {
+        if (released || taskGeneration != generation || preloadedIndex != -1) {
+            return;
+        }
+        int next = nextIndex();
+        int standby = 1 - active;
+        if (next != -1 && setMedia(standby, next, true)) {
+            preloadedIndex = next;
+            mediaPlayers[standby].controls().play();
+        }
+    }
+
+    /**
+     * Switch to the next item when the current item has finished.
+     *
+     * @param taskGeneration generation at the time the task was created
+     */
+    private synchronized void next(int taskGeneration) {
+        if (released || taskGeneration != generation) {
+            return;
+        }
+        preloadRequested.set(false);
+        // The length of the finished item must not trigger a preload if this media player is used again
+        setLength(active, 0);
+        if (preloadedIndex != -1) {
+            // The next item is already open and paused on the standby media player, so just resume it
+            active = 1 - active;
+            currentIndex = preloadedIndex;
+            preloadedIndex = -1;
+            mediaPlayers[active].controls().setPause(false);
+            fireItemChanged(mediaPlayers[active], currentIndex);
+        }
+        else {
+            // The item finished before the next item could be preloaded (e.g. a very short item)
+            int next = nextIndex();
+            if (next == -1 || !start(next)) {
+                currentIndex = -1;
+            }
+        }
+    }
+
+    private void setLength(int player, long length) {
+        synchronized (lengths) {
+            lengths[player] = length;
+        }
+    }
+
+    private long getLength(int player) {
+        synchronized (lengths) {
+            return lengths[player];
+        }
+    }
+
+    private void fireItemChanged(MediaPlayer mediaPlayer, int index) {
+        for (GaplessPlaybackListener listener : listeners) {
+            listener.itemChanged(this, mediaPlayer, index);
+        }
+    }
+
+    /**
+     * Event handler for one of the media players.
+     * <p>
+     * Events arrive on a native callback thread, so all work that calls back into LibVLC is submitted as a task to the
+     * media player.
+     * <p>
+     * The handler must not take the component lock, since that lock is held while the media players are stopped and
+     * stopping a native media player waits for its event callbacks to complete. Instead the handler reads the volatile
+     * state, and the submitted tasks check it again under the lock.
+     */
+    private final class PlayerEventHandler extends MediaPlayerEventAdapter {
+
+        private final int player;
+
+        private PlayerEventHandler(int player) {
+            this.player = player;
+        }
+
+        @Override
+        public void lengthChanged(MediaPlayer mediaPlayer, long newLength) {
+            setLength(player, newLength);
+        }
+
+        @Override
+        public void timeChanged(MediaPlayer mediaPlayer, long newTime) {
+            long currentLength = getLength(player);
+            if (player != active || currentLength <= 0 || currentLength - newTime > preloadMillis) {
+                return;
+            }
+            if (!preloadRequested.compareAndSet(false, true)) {
+                return;
+            }
+            final int taskGeneration = generation;
+            mediaPlayer.submit(new Runnable() {
+                @Override
+                public void run() {
+                    preload(taskGeneration);
+                }
+            });
+        }
+
+        @Override
+        public void finished(MediaPlayer mediaPlayer) {
+            if (player != active || currentIndex == -1) {
+                return;
+            }
+            final int taskGeneration = generation;
+            mediaPlayer.submit(new Runnable() {
+                @Override
+                public void run() {
+                    next(taskGeneration);
+                }
+            });
+        }
+    }
+
+}
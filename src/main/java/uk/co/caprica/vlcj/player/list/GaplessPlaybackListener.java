@@ -0,0 +1,43 @@
+/*
+ * This file is part of VLCJ.
+ *
+ * VLCJ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * VLCJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with VLCJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2019 Caprica Software Limited.
+ */
+
+package uk.co.caprica.vlcj.player.list;
+
+import uk.co.caprica.vlcj.player.base.MediaPlayer;
+
+/**
+ * Specification for a component interested in item changes made by {@link GaplessPlayback}.
+ */
+public interface GaplessPlaybackListener {
+
+    /**
+     * A new item started playing.
+     * <p>
+     * When the item was preloaded, this is a different media player than the one that played the previous item - an
+     * application showing video should make the video surface of this media player visible.
+     * <p>
+     * This is invoked on a media player task thread, not on a native callback thread.
+     *
+     * @param playback gapless playback component
+     * @param mediaPlayer media player that is now playing
+     * @param index index of the item in the media list
+     */
+    void itemChanged(GaplessPlayback playback, MediaPlayer mediaPlayer, int index);
+
+}
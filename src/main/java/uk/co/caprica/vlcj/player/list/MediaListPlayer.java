@@ -22,6 +22,8 @@ package uk.co.caprica.vlcj.player.list;
 import uk.co.caprica.vlcj.binding.internal.libvlc_media_list_player_t;
 import uk.co.caprica.vlcj.player.base.MediaPlayer;
 
+import java.util.concurrent.Future;
+
 /**
  * Specification for a media list player component.
  * <p>
@@ -75,6 +77,19 @@ public interface MediaListPlayer {
      */
     void release();
 
+    /**
+     * Release the media list player resources in the background.
+     * <p>
+     * The media list player is unusable as soon as this method is invoked: pending tasks are discarded, new tasks are
+     * refused, no more events are sent to listeners, and the service accessors that call into the native media list
+     * player (e.g. {@link #controls()}) throw {@link IllegalStateException}. A service obtained <em>before</em> the
+     * release must not be used again either. The {@link #events()} and {@link #userData()} accessors remain available,
+     * e.g. to remove listeners.
+     *
+     * @return future that completes when the native resources have been freed
+     */
+    Future<Void> releaseAsync();
+
     void submit(Runnable r);
 
     libvlc_media_list_player_t mediaListPlayerInstance(); // FIXME check this needs to be on interface
@@ -0,0 +1,556 @@
+/*
+ * This file is part of VLCJ.
+ *
+ * VLCJ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * VLCJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with VLCJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2019 Caprica Software Limited.
+ */
+
+
+package uk.co.caprica.vlcj.player.list;
+
+import uk.co.caprica.vlcj.enums.PlaybackMode;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A play-list of media resource locators, kept entirely on the Java side.
+ * <p>
+ * A native media list takes a lock and makes a native call for every item that is added, removed or read, and every
+ * item is a native media instance. For very large play-lists that makes loading and reading back the list slow. This
+ * play-list instead stores only the MRL strings, in a single compact array, and native media are created only for the
+ * items that are actually played - see {@link PlaylistPlayer}.
+ * <p>
+ * The play-list also keeps the play-back position, and takes care of the play-back mode and shuffling, so that the
+ * position stays correct when items are inserted or removed during play-back.
+ * <p>
+ * When shuffling, the play order is a permutation of the items that is built lazily, one step at a time, as play-back
+ * advances. The permutation is held as the differences from the identity order, so nothing is allocated or filled up
+ * front - turning shuffle on, starting a new pass and moving to the next item all take constant time no matter how big
+ * the play-list is. Each item is played once in each pass through the play-list. (Inserting or removing items while
+ * shuffling is proportional to the number of items already played in the current pass, on top of the cost of moving
+ * the MRLs themselves.)
+ * <p>
+ * All methods are thread-safe.
+ */
+public final class Playlist {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Item MRLs, only the first {@link #size} elements are used.
+     */
+    private String[] mrls = new String[INITIAL_CAPACITY];
+
+    /**
+     * Number of items.
+     */
+    private int size;
+
+    /**
+     * Random number generator used for shuffling.
+     */
+    private final Random random;
+
+    /**
+     * Play-back mode.
+     */
+    private PlaybackMode mode = PlaybackMode.DEFAULT;
+
+    /**
+     * Play order when shuffling, or <code>null</code> when not shuffling.
+     * <p>
+     * Maps a play position to an item index, for only those play positions whose item is not the one with the same
+     * index - any play position not in the map plays the item with the same index.
+     * <p>
+     * Only the first {@link #placed} positions have been decided, the remaining positions hold the items not yet chosen
+     * for the current pass, in no particular order.
+     */
+    private Map<Integer, Integer> order;
+
+    /**
+     * Number of play positions in {@link #order} that have been decided.
+     */
+    private int placed;
+
+    /**
+     * Play position of the current item, or -1 if there is no current item.
+     * <p>
+     * When not shuffling the play position is the same as the item index.
+     */
+    private int position = -1;
+
+    /**
+     * Create an empty play-list.
+     */
+    public Playlist() {
+        this(new Random());
+    }
+
+    /**
+     * Create an empty play-list with a specific random number generator for shuffling.
+     *
+     * @param random random number generator
+     */
+    public Playlist(Random random) {
+        this.random = random;
+    }
+
+    /**
+     * Get the number of items.
+     *
+     * @return item count
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Get the MRL of an item.
+     *
+     * @param index item index
+     * @return MRL
+     * @throws IndexOutOfBoundsException if there is no such item
+     */
+    public synchronized String get(int index) {
+        checkIndex(index, size - 1);
+        return mrls[index];
+    }
+
+    /**
+     * Get the MRLs of a range of items.
+     *
+     * @param from index of the first item, inclusive
+     * @param to index of the last item, exclusive
+     * @return MRLs
+     * @throws IndexOutOfBoundsException if the range is not valid
+     */
+    public synchronized String[] get(int from, int to) {
+        checkRange(from, to);
+        return Arrays.copyOfRange(mrls, from, to);
+    }
+
+    /**
+     * Add an item to the end of the play-list.
+     *
+     * @param mrl MRL
+     */
+    public void add(String mrl) {
+        addAll(mrl);
+    }
+
+    /**
+     * Add items to the end of the play-list.
+     *
+     * @param mrls MRLs
+     */
+    public synchronized void addAll(String... mrls) {
+        insertAll(size, mrls);
+    }
+
+    /**
+     * Add items to the end of the play-list.
+     *
+     * @param mrls MRLs
+     */
+    public synchronized void addAll(Collection<String> mrls) {
+        insertAll(size, mrls.toArray(new String[mrls.size()]));
+    }
+
+    /**
+     * Insert items into the play-list.
+     *
+     * @param index index at which to insert the first item
+     * @param mrls MRLs
+     * @throws IndexOutOfBoundsException if the index is not valid
+     */
+    public synchronized void insertAll(int index, Collection<String> mrls) {
+        insertAll(index, mrls.toArray(new String[mrls.size()]));
+    }
+
+    /**
+     * Insert items into the play-list.
+     *
+     * @param index index at which to insert the first item
+     * @param items MRLs
+     * @throws IndexOutOfBoundsException if the index is not valid
+     */
+    public synchronized void insertAll(int index, String... items) {
+        checkIndex(index, size);
+        for (String mrl : items) {
+            if (mrl == null) {
+                throw new NullPointerException("MRL must not be null");
+            }
+        }
+        int count = items.length;
+        if (count == 0) {
+            return;
+        }
+        ensureCapacity(size + count);
+        System.arraycopy(mrls, index, mrls, index + count, size - index);
+        System.arraycopy(items, 0, mrls, index, count);
+        if (order != null) {
+            int[] decided = new int[placed];
+            for (int p = 0; p < placed; p++) {
+                int item = itemAt(p);
+                decided[p] = item >= index ? item + count : item;
+            }
+            // The new items go into the undecided part of the play order, so they will be played later in this pass
+            setOrder(decided, placed);
+        }
+        else if (position >= index) {
+            position += count;
+        }
+        size += count;
+    }
+
+    /**
+     * Remove an item.
+     *
+     * @param index item index
+     * @throws IndexOutOfBoundsException if there is no such item
+     */
+    public void remove(int index) {
+        remove(index, index + 1);
+    }
+
+    /**
+     * Remove a range of items.
+     * <p>
+     * If the current item is removed, there is no longer a current item and the next item will be the one that would
+     * have followed the removed current item.
+     *
+     * @param from index of the first item to remove, inclusive
+     * @param to index of the last item to remove, exclusive
+     * @throws IndexOutOfBoundsException if the range is not valid
+     */
+    public synchronized void remove(int from, int to) {
+        checkRange(from, to);
+        int count = to - from;
+        if (count == 0) {
+            return;
+        }
+        System.arraycopy(mrls, to, mrls, from, size - to);
+        Arrays.fill(mrls, size - count, size, null);
+        if (order != null) {
+            int[] decided = new int[placed];
+            int kept = 0;
+            int newPosition = -1;
+            for (int p = 0; p < placed; p++) {
+                int item = itemAt(p);
+                if (item >= from && item < to) {
+                    continue;
+                }
+                decided[kept++] = item >= to ? item - count : item;
+                if (p <= position) {
+                    newPosition++;
+                }
+            }
+            setOrder(decided, kept);
+            position = newPosition;
+        }
+        else if (position >= to) {
+            position -= count;
+        }
+        else if (position >= from) {
+            position = from - 1;
+        }
+        size -= count;
+    }
+
+    /**
+     * Remove all items.
+     */
+    public synchronized void clear() {
+        Arrays.fill(mrls, 0, size, null);
+        size = 0;
+        if (order != null) {
+            order = new HashMap<Integer, Integer>();
+        }
+        placed = 0;
+        position = -1;
+    }
+
+    /**
+     * Set the play-back mode.
+     * <p>
+     * The modes have the same meaning as they do for a native media list player.
+     *
+     * @param mode play-back mode
+     */
+    public synchronized void setMode(PlaybackMode mode) {
+        if (mode == null) {
+            throw new NullPointerException("Mode must not be null");
+        }
+        this.mode = mode;
+    }
+
+    /**
+     * Get the play-back mode.
+     *
+     * @return play-back mode
+     */
+    public synchronized PlaybackMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Set whether or not to play the items in a random order.
+     * <p>
+     * Turning shuffle on starts a new pass through the play-list with the current item (if there is one) played first.
+     *
+     * @param shuffle <code>true</code> to shuffle; <code>false</code> to play the items in order
+     */
+    public synchronized void setShuffle(boolean shuffle) {
+        if (shuffle == (order != null)) {
+            return;
+        }
+        if (shuffle) {
+            int current = current();
+            order = new HashMap<Integer, Integer>();
+            placed = 0;
+            position = -1;
+            if (current != -1) {
+                startPass(current);
+            }
+        }
+        else {
+            position = current();
+            order = null;
+            placed = 0;
+        }
+    }
+
+    /**
+     * Are the items being played in a random order?
+     *
+     * @return <code>true</code> if shuffling; <code>false</code> otherwise
+     */
+    public synchronized boolean isShuffle() {
+        return order != null;
+    }
+
+    /**
+     * Get the index of the current item.
+     *
+     * @return item index, or -1 if there is no current item
+     */
+    public synchronized int current() {
+        return position != -1 ? itemAt(position) : -1;
+    }
+
+    /**
+     * Make an item the current item.
+     * <p>
+     * When shuffling, this starts a new pass through the play-list with this item played first.
+     *
+     * @param index item index
+     * @throws IndexOutOfBoundsException if there is no such item
+     */
+    public synchronized void setCurrent(int index) {
+        checkIndex(index, size - 1);
+        if (order != null) {
+            startPass(index);
+        }
+        else {
+            position = index;
+        }
+    }
+
+    /**
+     * Move to the next item, according to the play-back mode.
+     *
+     * @return index of the new current item, or -1 if there is no next item
+     */
+    public synchronized int next() {
+        int next = nextPosition(true);
+        if (next == -1) {
+            return -1;
+        }
+        position = next;
+        return itemAt(next);
+    }
+
+    /**
+     * Get the item that {@link #next()} would move to, without moving to it.
+     * <p>
+     * When shuffling and looping, the first item of the next pass through the play-list is not decided until that pass
+     * starts, so at the end of a pass this method returns -1.
+     *
+     * @return index of the next item, or -1 if there is no next item (or it is not yet known)
+     */
+    public synchronized int peekNext() {
+        int next = nextPosition(false);
+        return next != -1 ? itemAt(next) : -1;
+    }
+
+    /**
+     * Move to the previous item, according to the play-back mode.
+     *
+     * @return index of the new current item, or -1 if there is no previous item
+     */
+    public synchronized int previous() {
+        if (size == 0) {
+            return -1;
+        }
+        if (mode == PlaybackMode.REPEAT && position != -1) {
+            return itemAt(position);
+        }
+        int previous = position - 1;
+        if (previous < 0) {
+            // When shuffling there is nothing before the start of the current pass
+            if (mode != PlaybackMode.LOOP || order != null) {
+                return -1;
+            }
+            previous = size - 1;
+        }
+        position = previous;
+        return itemAt(previous);
+    }
+
+    /**
+     * Get the play position that follows the current one.
+     *
+     * @param advance <code>true</code> if the position is going to be moved to, allowing a new shuffle pass to start
+     * @return play position, or -1 if there is none
+     */
+    private int nextPosition(boolean advance) {
+        if (size == 0) {
+            return -1;
+        }
+        if (mode == PlaybackMode.REPEAT && position != -1) {
+            return position;
+        }
+        int next = position + 1;
+        if (next >= size) {
+            if (mode != PlaybackMode.LOOP) {
+                return -1;
+            }
+            if (order != null) {
+                if (!advance) {
+                    return -1;
+                }
+                // Start a new pass
+                order = new HashMap<Integer, Integer>();
+                placed = 0;
+            }
+            next = 0;
+        }
+        if (order != null) {
+            place(next);
+        }
+        return next;
+    }
+
+    /**
+     * Start a new shuffle pass with a particular item first.
+     *
+     * @param index item index
+     */
+    private void startPass(int index) {
+        order = new HashMap<Integer, Integer>();
+        swap(0, index);
+        placed = 1;
+        position = 0;
+    }
+
+    /**
+     * Replace the play order with one that starts with particular items, followed by all the other items in no
+     * particular order.
+     *
+     * @param decided items for the first play positions
+     * @param count number of elements of <code>decided</code> to use
+     */
+    private void setOrder(int[] decided, int count) {
+        order = new HashMap<Integer, Integer>();
+        // Play position of each item that has been moved while building the new order
+        Map<Integer, Integer> positions = new HashMap<Integer, Integer>();
+        for (int p = 0; p < count; p++) {
+            int item = decided[p];
+            Integer from = positions.get(item);
+            int other = itemAt(p);
+            int at = from != null ? from : item;
+            swap(p, at);
+            positions.put(other, at);
+            positions.remove(item);
+        }
+        placed = count;
+    }
+
+    /**
+     * Decide the play order up to and including a play position, a step of a Fisher-Yates shuffle for each position.
+     *
+     * @param to play position
+     */
+    private void place(int to) {
+        while (placed <= to) {
+            swap(placed, placed + random.nextInt(size - placed));
+            placed++;
+        }
+    }
+
+    /**
+     * Swap the items at two play positions.
+     *
+     * @param first play position
+     * @param second play position
+     */
+    private void swap(int first, int second) {
+        int firstItem = itemAt(first);
+        int secondItem = itemAt(second);
+        setItemAt(first, secondItem);
+        setItemAt(second, firstItem);
+    }
+
+    private void setItemAt(int position, int item) {
+        if (item == position) {
+            order.remove(position);
+        }
+        else {
+            order.put(position, item);
+        }
+    }
+
+    private int itemAt(int position) {
+        if (order == null) {
+            return position;
+        }
+        Integer item = order.get(position);
+        return item != null ? item : position;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > mrls.length) {
+            int newCapacity = Math.max(capacity, mrls.length + (mrls.length >> 1));
+            mrls = Arrays.copyOf(mrls, newCapacity);
+        }
+    }
+
+    private static void checkIndex(int index, int max) {
+        if (index < 0 || index > max) {
+            throw new IndexOutOfBoundsException("Index: " + index);
+        }
+    }
+
+    private void checkRange(int from, int to) {
+        if (from < 0 || to > size || from > to) {
+            throw new IndexOutOfBoundsException("Range: " + from + " to " + to);
+        }
+    }
+
+}
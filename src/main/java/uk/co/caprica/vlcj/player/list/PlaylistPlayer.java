@@ -0,0 +1,387 @@
+/*
+ * This file is part of VLCJ.
+ *
+ * VLCJ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * VLCJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with VLCJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2019 Caprica Software Limited.
+ */
+
+
+package uk.co.caprica.vlcj.player.list;
+
+import uk.co.caprica.vlcj.factory.MediaPlayerFactory;
+import uk.co.caprica.vlcj.media.Media;
+import uk.co.caprica.vlcj.player.MediaPlayerEventAdapter;
+import uk.co.caprica.vlcj.player.base.MediaPlayer;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Plays the items in a {@link Playlist} using an ordinary media player.
+ * <p>
+ * This provides the same controls as a native media list player, but native media are only ever created for the
+ * current item and the item that will be played next - so the size of the play-list makes no difference to the native
+ * resources used, or to how quickly play-back can start.
+ * <p>
+ * The play-back mode and shuffling are set on the play-list itself. The play-list may be changed freely while it is
+ * being played.
+ * <p>
+ * The media player is not owned by this component. It should not be used to play other media while this component is
+ * in use, but it may be paused, seeked and so on as usual.
+ */
+public final class PlaylistPlayer {
+
+    /**
+     * Factory used to create native media.
+     */
+    private final MediaPlayerFactory factory;
+
+    /**
+     * Media player used for play-back.
+     */
+    private final MediaPlayer mediaPlayer;
+
+    /**
+     * Play-list to play.
+     */
+    private final Playlist playlist;
+
+    /**
+     * Listener for the media player.
+     */
+    private final PlayerEventHandler eventHandler = new PlayerEventHandler();
+
+    /**
+     * Collection of components listening for item changes.
+     */
+    private final List<PlaylistPlayerListener> listeners = new CopyOnWriteArrayList<PlaylistPlayerListener>();
+
+    /**
+     * Media currently set on the media player, owned by this component.
+     */
+    private Media current;
+
+    /**
+     * Media created in advance for the next item, owned by this component.
+     */
+    private Media prepared;
+
+    /**
+     * MRL of the prepared media, compared by identity to check that the prepared media is still the right one.
+     */
+    private String preparedMrl;
+
+    /**
+     * Generation number, incremented whenever play-back is explicitly started or stopped so that stale tasks can be
+     * ignored.
+     */
+    private volatile int generation;
+
+    /**
+     * Flag whether or not the next item should be played automatically when the current item finishes.
+     */
+    private volatile boolean active;
+
+    /**
+     * Flag whether or not this component has been released.
+     */
+    private boolean released;
+
+    /**
+     * Create a play-list player.
+     *
+     * @param factory factory used to create the native media for each item
+     * @param mediaPlayer media player used for play-back
+     * @param playlist play-list to play
+     */
+    public PlaylistPlayer(MediaPlayerFactory factory, MediaPlayer mediaPlayer, Playlist playlist) {
+        this.factory = factory;
+        this.mediaPlayer = mediaPlayer;
+        this.playlist = playlist;
+        mediaPlayer.events().addMediaPlayerEventListener(eventHandler);
+    }
+
+    /**
+     * Add a component to be notified of item changes.
+     *
+     * @param listener component to notify
+     */
+    public void addPlaylistPlayerListener(PlaylistPlayerListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Remove a component that was previously interested in item changes.
+     *
+     * @param listener component to stop notifying
+     */
+    public void removePlaylistPlayerListener(PlaylistPlayerListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Get the play-list.
+     *
+     * @return play-list
+     */
+    public Playlist playlist() {
+        return playlist;
+    }
+
+    /**
+     * Get the media player.
+     *
+     * @return media player
+     */
+    public MediaPlayer mediaPlayer() {
+        return mediaPlayer;
+    }
+
+    /**
+     * Play the play-list, starting with the current item if there is one.
+     *
+     * @return <code>true</code> if an item was started; <code>false</code> otherwise
+     */
+    public synchronized boolean play() {
+        int index = playlist.current();
+        return play(index != -1 ? index : playlist.next());
+    }
+
+    /**
+     * Play a particular item.
+     *
+     * @param index index of the item in the play-list
+     * @return <code>true</code> if the item was started; <code>false</code> if there is no such item
+     */
+    public synchronized boolean playItem(int index) {
+        if (index < 0 || index >= playlist.size()) {
+            return false;
+        }
+        playlist.setCurrent(index);
+        return play(index);
+    }
+
+    /**
+     * Play the next item, according to the play-back mode.
+     *
+     * @return <code>true</code> if an item was started; <code>false</code> if there is no next item
+     */
+    public synchronized boolean playNext() {
+        return play(playlist.next());
+    }
+
+    /**
+     * Play the previous item, according to the play-back mode.
+     *
+     * @return <code>true</code> if an item was started; <code>false</code> if there is no previous item
+     */
+    public synchronized boolean playPrevious() {
+        return play(playlist.previous());
+    }
+
+    /**
+     * Toggle-pause the current item.
+     */
+    public void pause() {
+        mediaPlayer.controls().pause();
+    }
+
+    /**
+     * Pause/un-pause the current item.
+     *
+     * @param pause <code>true</code> to pause; <code>false</code> to un-pause
+     */
+    public void setPause(boolean pause) {
+        mediaPlayer.controls().setPause(pause);
+    }
+
+    /**
+     * Stop play-back.
+     * <p>
+     * The current item in the play-list is not changed, so a subsequent {@link #play()} starts that item again.
+     */
+    public synchronized void stop() {
+        if (released) {
+            return;
+        }
+        generation++;
+        active = false;
+        mediaPlayer.controls().stop();
+    }
+
+    /**
+     * Release this component.
+     * <p>
+     * Play-back is stopped and the native media created by this component are released, but neither the play-list nor
+     * the media player are released.
+     */
+    public synchronized void release() {
+        if (released) {
+            return;
+        }
+        stop();
+        released = true;
+        mediaPlayer.events().removeMediaPlayerEventListener(eventHandler);
+        releaseMedia(current);
+        current = null;
+        discardPrepared();
+        listeners.clear();
+    }
+
+    /**
+     * Start an item, stopping whatever is currently playing.
+     *
+     * @param index index of the item in the play-list, may be -1
+     * @return <code>true</code> if the item was started; <code>false</code> otherwise
+     */
+    private boolean play(int index) {
+        if (released) {
+            return false;
+        }
+        generation++;
+        active = false;
+        mediaPlayer.controls().stop();
+        return start(index);
+    }
+
+    /**
+     * Start an item on the media player, and prepare the item after it.
+     *
+     * @param index index of the item in the play-list, may be -1
+     * @return <code>true</code> if the item was started; <code>false</code> otherwise
+     */
+    private boolean start(int index) {
+        if (index == -1) {
+            return false;
+        }
+        String mrl = playlist.get(index);
+        Media media = mediaFor(mrl);
+        if (media == null) {
+            return false;
+        }
+        mediaPlayer.media().set(media);
+        releaseMedia(current);
+        current = media;
+        active = true;
+        mediaPlayer.controls().play();
+        prepareNext();
+        fireItemChanged(index, mrl);
+        return true;
+    }
+
+    /**
+     * Get the native media for an item, using the prepared media if it is for the same item.
+     *
+     * @param mrl MRL of the item
+     * @return media, or <code>null</code> if it could not be created
+     */
+    private Media mediaFor(String mrl) {
+        if (prepared != null && preparedMrl == mrl) {
+            Media result = prepared;
+            prepared = null;
+            preparedMrl = null;
+            return result;
+        }
+        return factory.media().newMedia(mrl);
+    }
+
+    /**
+     * Create the native media for the item that will be played next, if it is known.
+     */
+    private void prepareNext() {
+        int next = playlist.peekNext();
+        if (next == -1) {
+            discardPrepared();
+            return;
+        }
+        String mrl = playlist.get(next);
+        if (prepared != null && preparedMrl == mrl) {
+            return;
+        }
+        discardPrepared();
+        prepared = factory.media().newMedia(mrl);
+        preparedMrl = prepared != null ? mrl : null;
+    }
+
+    private void discardPrepared() {
+        releaseMedia(prepared);
+        prepared = null;
+        preparedMrl = null;
+    }
+
+    private void releaseMedia(Media media) {
+        if (media != null) {
+            media.release();
+        }
+    }
+
+    /**
+     * Move on to the next item when the current item has finished.
+     *
+     * @param taskGeneration generation at the time the task was created
+     */
+    private synchronized void next(int taskGeneration) {
+        if (released || taskGeneration != generation) {
+            return;
+        }
+        active = false;
+        if (!start(playlist.next())) {
+            firePlaylistFinished();
+        }
+    }
+
+    private void fireItemChanged(int index, String mrl) {
+        for (PlaylistPlayerListener listener : listeners) {
+            listener.itemChanged(this, index, mrl);
+        }
+    }
+
+    private void firePlaylistFinished() {
+        for (PlaylistPlayerListener listener : listeners) {
+            listener.playlistFinished(this);
+        }
+    }
+
+    /**
+     * Event handler for the media player.
+     * <p>
+     * Events arrive on a native callback thread, so the work of starting the next item is submitted as a task to the
+     * media player. The handler must not take the component lock, since that lock is held while the media player is
+     * stopped and stopping a native media player waits for its event callbacks to complete.
+     */
+    private final class PlayerEventHandler extends MediaPlayerEventAdapter {
+
+        @Override
+        public void finished(MediaPlayer mediaPlayer) {
+            if (!active) {
+                return;
+            }
+            final int taskGeneration = generation;
+            mediaPlayer.submit(new Runnable() {
+                @Override
+                public void run() {
+                    next(taskGeneration);
+                }
+            });
+        }
+
+        @Override
+        public void error(MediaPlayer mediaPlayer) {
+            // Skip items that can not be played, the same as a native media list player does
+            finished(mediaPlayer);
+        }
+    }
+
+}
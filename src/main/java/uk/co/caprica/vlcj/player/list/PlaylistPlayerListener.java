@@ -0,0 +1,47 @@
+/*
+ * This file is part of VLCJ.
+ *
+ * VLCJ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * VLCJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with VLCJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2019 Caprica Software Limited.
+ */
+
+
+package uk.co.caprica.vlcj.player.list;
+
+/**
+ * Specification for a component interested in item changes made by {@link PlaylistPlayer}.
+ * <p>
+ * These methods are invoked either on the thread that asked for the item to be played, or on a media player task
+ * thread when play-back moved on automatically - never on a native callback thread.
+ */
+public interface PlaylistPlayerListener {
+
+    /**
+     * A new item started playing.
+     *
+     * @param player play-list player
+     * @param index index of the item in the play-list
+     * @param mrl MRL of the item
+     */
+    void itemChanged(PlaylistPlayer player, int index, String mrl);
+
+    /**
+     * Play-back reached the end of the play-list.
+     *
+     * @param player play-list player
+     */
+    void playlistFinished(PlaylistPlayer player);
+
+}
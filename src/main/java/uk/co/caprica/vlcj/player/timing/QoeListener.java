@@ -0,0 +1,38 @@
+/*
+ * This file is part of VLCJ.
+ *
+ * VLCJ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * VLCJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with VLCJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2019 Caprica Software Limited.
+ */
+
+package uk.co.caprica.vlcj.player.timing;
+
+/**
+ * Specification for a component interested in play-back quality alerts.
+ */
+public interface QoeListener {
+
+    /**
+     * Play-back quality crossed a configured threshold.
+     * <p>
+     * This is invoked at most once per play-back session. It may be invoked on a native event callback thread, so it
+     * must return quickly and must not call back into LibVLC.
+     *
+     * @param monitor monitor that raised the alert
+     * @param report quality measurements at the time the threshold was crossed
+     */
+    void thresholdExceeded(QoeMonitor monitor, QoeReport report);
+
+}
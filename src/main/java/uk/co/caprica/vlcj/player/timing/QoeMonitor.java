@@ -0,0 +1,366 @@
+/*
+ * This file is part of VLCJ.
+ *
+ * VLCJ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * VLCJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with VLCJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2019 Caprica Software Limited.
+ */
+
+package uk.co.caprica.vlcj.player.timing;
+
+import uk.co.caprica.vlcj.player.MediaPlayerEventAdapter;
+import uk.co.caprica.vlcj.player.base.MediaPlayer;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Quality of experience monitor for media player play-back.
+ * <p>
+ * The monitor is a media player event listener, add it to a media player to monitor that media player:
+ * <pre>
+ *   QoeMonitor monitor = new QoeMonitor(1000);
+ *   mediaPlayer.events().addMediaPlayerEventListener(monitor);
+ * </pre>
+ * Each time the media player opens media a new session begins. During a session the monitor measures:
+ * <ul>
+ *   <li>startup delay - time from opening the media to play-back starting;</li>
+ *   <li>re-buffers - the number of times play-back stalled after it had started;</li>
+ *   <li>stall time - the total time play-back was stalled;</li>
+ *   <li>re-buffer ratio - stall time as a proportion of play time plus stall time.</li>
+ * </ul>
+ * Play-back is considered stalled while it is playing and either the buffer has dipped below 100% or the play-back time
+ * has not advanced for longer than the stall threshold. Time spent paused is neither play time nor stall time.
+ * <p>
+ * A stall that is detected by the play-back time not advancing is normally only noticed when the time does advance
+ * again. Invoke {@link #check()} periodically to notice such a stall while it is still in progress.
+ * <p>
+ * An optional {@link QoeListener} is notified once per session when a configured threshold is crossed.
+ */
+public final class QoeMonitor extends MediaPlayerEventAdapter {
+
+    private enum State {
+        IDLE,
+        STARTING,
+        PLAYING,
+        PAUSED
+    }
+
+    /**
+     * Time without play-back progress after which play-back is considered stalled, in nanoseconds.
+     */
+    private final long stallThresholdNanos;
+
+    /**
+     * Collection of components listening for alerts.
+     */
+    private final List<QoeListener> listeners = new CopyOnWriteArrayList<QoeListener>();
+
+    /**
+     * Re-buffer count above which listeners are alerted, or -1 for no limit.
+     */
+    private int maxRebuffers = -1;
+
+    /**
+     * Re-buffer ratio above which listeners are alerted, or -1 for no limit.
+     */
+    private double maxRebufferRatio = -1;
+
+    private State state = State.IDLE;
+
+    private long openingNanos;
+
+    private long startupDelayNanos = -1;
+
+    private int rebuffers;
+
+    private long stallNanos;
+
+    private long playNanos;
+
+    /**
+     * Start of the current playing (not stalled) period.
+     */
+    private long playingSince;
+
+    /**
+     * Time play-back last made progress.
+     */
+    private long lastProgressNanos;
+
+    /**
+     * Most recent play-back time reported by the media player.
+     */
+    private long lastTime = -1;
+
+    private boolean stalled;
+
+    private long stallSince;
+
+    /**
+     * Flag whether or not the listeners have been alerted for the current session.
+     */
+    private boolean alerted;
+
+    /**
+     * Create a monitor.
+     *
+     * @param stallThresholdMillis time without play-back progress after which play-back is considered stalled, in
+     *                             milliseconds
+     */
+    public QoeMonitor(long stallThresholdMillis) {
+        this.stallThresholdNanos = TimeUnit.MILLISECONDS.toNanos(stallThresholdMillis);
+    }
+
+    /**
+     * Add a component to be notified of alerts.
+     *
+     * @param listener component to notify
+     */
+    public void addQoeListener(QoeListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Remove a component that was previously interested in alerts.
+     *
+     * @param listener component to stop notifying
+     */
+    public void removeQoeListener(QoeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Set the thresholds above which listeners are alerted.
+     *
+     * @param maxRebuffers maximum re-buffer count, or -1 for no limit
+     * @param maxRebufferRatio maximum re-buffer ratio, from 0 to 1, or -1 for no limit
+     */
+    public synchronized void setThresholds(int maxRebuffers, double maxRebufferRatio) {
+        this.maxRebuffers = maxRebuffers;
+        this.maxRebufferRatio = maxRebufferRatio;
+    }
+
+    /**
+     * Get the measurements for the current (or most recent) session.
+     *
+     * @return quality measurements
+     */
+    public synchronized QoeReport report() {
+        return report(System.nanoTime());
+    }
+
+    /**
+     * Check whether play-back has stalled without the media player reporting it.
+     * <p>
+     * This may be invoked from any thread, it does not call into LibVLC.
+     *
+     * @return <code>true</code> if play-back is currently stalled; <code>false</code> otherwise
+     */
+    public boolean check() {
+        QoeReport alert;
+        boolean result;
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (state == State.PLAYING && !stalled && now - lastProgressNanos > stallThresholdNanos) {
+                startStall(lastProgressNanos);
+            }
+            result = stalled;
+            alert = checkThresholds(now);
+        }
+        fireAlert(alert);
+        return result;
+    }
+
+    @Override
+    public void opening(MediaPlayer mediaPlayer) {
+        synchronized (this) {
+            state = State.STARTING;
+            openingNanos = System.nanoTime();
+            startupDelayNanos = -1;
+            rebuffers = 0;
+            stallNanos = 0;
+            playNanos = 0;
+            lastTime = -1;
+            stalled = false;
+            alerted = false;
+        }
+    }
+
+    @Override
+    public void buffering(MediaPlayer mediaPlayer, float newCache) {
+        QoeReport alert;
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (state != State.PLAYING) {
+                return;
+            }
+            if (newCache < 100f) {
+                if (!stalled) {
+                    startStall(now);
+                }
+            }
+            else if (stalled) {
+                endStall(now);
+            }
+            alert = checkThresholds(now);
+        }
+        fireAlert(alert);
+    }
+
+    @Override
+    public void playing(MediaPlayer mediaPlayer) {
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (state == State.STARTING) {
+                startupDelayNanos = now - openingNanos;
+            }
+            if (state == State.STARTING || state == State.PAUSED) {
+                state = State.PLAYING;
+                playingSince = now;
+                lastProgressNanos = now;
+            }
+        }
+    }
+
+    @Override
+    public void timeChanged(MediaPlayer mediaPlayer, long newTime) {
+        QoeReport alert;
+        synchronized (this) {
+            if (state != State.PLAYING || newTime == lastTime) {
+                return;
+            }
+            long now = System.nanoTime();
+            lastTime = newTime;
+            if (!stalled && now - lastProgressNanos > stallThresholdNanos) {
+                // Play-back stalled without being noticed, so count it now it has recovered
+                startStall(lastProgressNanos);
+            }
+            if (stalled) {
+                endStall(now);
+            }
+            lastProgressNanos = now;
+            alert = checkThresholds(now);
+        }
+        fireAlert(alert);
+    }
+
+    @Override
+    public void paused(MediaPlayer mediaPlayer) {
+        synchronized (this) {
+            if (state == State.PLAYING) {
+                endPlaying(System.nanoTime());
+                state = State.PAUSED;
+            }
+        }
+    }
+
+    @Override
+    public void stopped(MediaPlayer mediaPlayer) {
+        endSession();
+    }
+
+    @Override
+    public void finished(MediaPlayer mediaPlayer) {
+        endSession();
+    }
+
+    @Override
+    public void error(MediaPlayer mediaPlayer) {
+        endSession();
+    }
+
+    private synchronized void endSession() {
+        if (state == State.PLAYING) {
+            endPlaying(System.nanoTime());
+        }
+        state = State.IDLE;
+    }
+
+    /**
+     * Close the current playing or stalled period.
+     *
+     * @param now current time
+     */
+    private void endPlaying(long now) {
+        if (stalled) {
+            endStall(now);
+        }
+        playNanos += now - playingSince;
+        playingSince = now;
+    }
+
+    private void startStall(long at) {
+        playNanos += Math.max(0, at - playingSince);
+        stalled = true;
+        stallSince = at;
+        rebuffers++;
+    }
+
+    private void endStall(long at) {
+        stallNanos += at - stallSince;
+        stalled = false;
+        playingSince = at;
+        // Progress is measured afresh from the end of the stall
+        lastProgressNanos = at;
+    }
+
+    private QoeReport report(long now) {
+        long currentStall = stallNanos;
+        long currentPlay = playNanos;
+        if (state == State.PLAYING) {
+            if (stalled) {
+                currentStall += now - stallSince;
+            }
+            else {
+                currentPlay += now - playingSince;
+            }
+        }
+        return new QoeReport(
+            startupDelayNanos >= 0 ? TimeUnit.NANOSECONDS.toMillis(startupDelayNanos) : -1,
+            rebuffers,
+            TimeUnit.NANOSECONDS.toMillis(currentStall),
+            TimeUnit.NANOSECONDS.toMillis(currentPlay),
+            state == State.PLAYING && stalled
+        );
+    }
+
+    /**
+     * Check the alert thresholds.
+     *
+     * @param now current time
+     * @return report to send to the listeners, or <code>null</code> if no alert is needed
+     */
+    private QoeReport checkThresholds(long now) {
+        if (alerted || listeners.isEmpty() || (maxRebuffers < 0 && maxRebufferRatio < 0)) {
+            return null;
+        }
+        QoeReport report = report(now);
+        if ((maxRebuffers >= 0 && report.rebuffers() > maxRebuffers) || (maxRebufferRatio >= 0 && report.rebufferRatio() > maxRebufferRatio)) {
+            alerted = true;
+            return report;
+        }
+        return null;
+    }
+
+    private void fireAlert(QoeReport report) {
+        if (report != null) {
+            for (QoeListener listener : listeners) {
+                listener.thresholdExceeded(this, report);
+            }
+        }
+    }
+
+}
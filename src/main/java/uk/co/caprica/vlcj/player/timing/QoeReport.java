@@ -0,0 +1,115 @@
+/*
+ * This file is part of VLCJ.
+ *
+ * VLCJ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * VLCJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with VLCJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2019 Caprica Software Limited.
+ */
+
+package uk.co.caprica.vlcj.player.timing;
+
+/**
+ * Quality of experience measurements for a single play-back session.
+ * <p>
+ * See {@link QoeMonitor#report()}.
+ */
+public final class QoeReport {
+
+    private final long startupDelay;
+
+    private final int rebuffers;
+
+    private final long stallTime;
+
+    private final long playTime;
+
+    private final boolean stalled;
+
+    QoeReport(long startupDelay, int rebuffers, long stallTime, long playTime, boolean stalled) {
+        this.startupDelay = startupDelay;
+        this.rebuffers = rebuffers;
+        this.stallTime = stallTime;
+        this.playTime = playTime;
+        this.stalled = stalled;
+    }
+
+    /**
+     * Get the time from opening the media to play-back starting.
+     *
+     * @return startup delay, in milliseconds, or -1 if play-back has not started
+     */
+    public long startupDelay() {
+        return startupDelay;
+    }
+
+    /**
+     * Get the number of times play-back stalled (re-buffered) after it had started.
+     *
+     * @return re-buffer count
+     */
+    public int rebuffers() {
+        return rebuffers;
+    }
+
+    /**
+     * Get the total time play-back was stalled.
+     *
+     * @return stall time, in milliseconds
+     */
+    public long stallTime() {
+        return stallTime;
+    }
+
+    /**
+     * Get the total time play-back was progressing.
+     *
+     * @return play time, in milliseconds
+     */
+    public long playTime() {
+        return playTime;
+    }
+
+    /**
+     * Get the proportion of the time spent stalled, out of the time spent either playing or stalled.
+     *
+     * @return re-buffer ratio, from 0 to 1
+     */
+    public double rebufferRatio() {
+        long total = stallTime + playTime;
+        return total > 0 ? (double) stallTime / total : 0;
+    }
+
+    /**
+     * Is play-back stalled right now?
+     *
+     * @return <code>true</code> if stalled; <code>false</code> otherwise
+     */
+    public boolean stalled() {
+        return stalled;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(120);
+        sb.append(getClass().getSimpleName()).append('[');
+        sb.append("startupDelay=").append(startupDelay).append(',');
+        sb.append("rebuffers=").append(rebuffers).append(',');
+        sb.append("stallTime=").append(stallTime).append(',');
+        sb.append("playTime=").append(playTime).append(',');
+        sb.append("rebufferRatio=").append(String.format("%.4f", rebufferRatio())).append(',');
+        sb.append("stalled=").append(stalled).append(']');
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,4 @@
+/**
+ * Provides low-overhead timing instrumentation for media players.
+ */
+package uk.co.caprica.vlcj.player.timing;
@@ -0,0 +1,265 @@
+/*
+ * This file is part of VLCJ.
+ *
+ * VLCJ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * VLCJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with VLCJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2019 Caprica Software Limited.
+ */
+
+package uk.co.caprica.vlcj.player.watchdog;
+
+import uk.co.caprica.vlcj.player.base.MediaPlayer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watchdog that detects media players that are playing but have stopped making progress, and recovers them.
+ * <p>
+ * A native media player can occasionally end up in the playing state while no longer delivering any time-changed
+ * events (or video frames) - the play-back is frozen, but nothing reports an error. The watchdog records the last time
+ * each watched media player made progress, and when a playing media player has made no progress for longer than the
+ * threshold it notifies the {@link WatchdogListener}s and executes the {@link RecoveryAction} for that media player.
+ * <p>
+ * One watchdog can watch any number of media players. It uses a single thread, and a hashed timing wheel so that the
+ * cost of each tick depends only on the number of media players that are actually due to be checked. Recording progress
+ * is a single volatile write and does not touch the timing wheel at all - a media player that is due is simply checked
+ * and, if it has made progress in the meantime, put back on the wheel for when it would next become due.
+ * <p>
+ * Paused, stopped and finished media players are not expected to make progress, and so are never considered hung.
+ */
+public final class PlayerWatchdog {
+
+    /**
+     * Number of slots in the timing wheel.
+     */
+    private static final int WHEEL_SIZE = 512;
+
+    /**
+     * Minimum tick interval, in milliseconds.
+     */
+    private static final long MIN_TICK = 10;
+
+    /**
+     * Maximum tick interval, in milliseconds.
+     */
+    private static final long MAX_TICK = 1000;
+
+    /**
+     * Time without progress after which a playing media player is considered hung, in nanoseconds.
+     */
+    private final long thresholdNanos;
+
+    /**
+     * Tick interval, in nanoseconds.
+     */
+    private final long tickNanos;
+
+    /**
+     * Timing wheel, each slot contains the watches due in that slot, owned by the watchdog thread.
+     */
+    private final List<List<Watch>> wheel = new ArrayList<List<Watch>>(WHEEL_SIZE);
+
+    /**
+     * Watches added since the last tick.
+     */
+    private final Queue<Watch> added = new ConcurrentLinkedQueue<Watch>();
+
+    /**
+     * Collection of components listening for hung media players.
+     */
+    private final List<WatchdogListener> listeners = new CopyOnWriteArrayList<WatchdogListener>();
+
+    /**
+     * Single-threaded scheduler used to run the ticks.
+     */
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Number of ticks so far, owned by the watchdog thread.
+     */
+    private long tick;
+
+    /**
+     * Create a watchdog with a tick interval derived from the threshold.
+     *
+     * @param thresholdMillis time without progress after which a playing media player is considered hung, in
+     *                        milliseconds
+     */
+    public PlayerWatchdog(long thresholdMillis) {
+        this(thresholdMillis, Math.min(MAX_TICK, Math.max(MIN_TICK, thresholdMillis / 8)));
+    }
+
+    /**
+     * Create a watchdog.
+     * <p>
+     * A hung media player is detected within one tick interval after the threshold has elapsed.
+     *
+     * @param thresholdMillis time without progress after which a playing media player is considered hung, in
+     *                        milliseconds
+     * @param tickMillis tick interval, in milliseconds
+     */
+    public PlayerWatchdog(long thresholdMillis, long tickMillis) {
+        if (thresholdMillis <= 0 || tickMillis <= 0) {
+            throw new IllegalArgumentException("Threshold and tick interval must be positive");
+        }
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel.add(new ArrayList<Watch>());
+        }
+        this.scheduler = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "vlcj-watchdog");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        this.scheduler.scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                tick();
+            }
+        }, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Start watching a media player.
+     *
+     * @param mediaPlayer media player to watch
+     * @param recoveryAction action to execute when the media player is hung, see {@link RecoveryActions}
+     * @return watch, used to record additional progress or to stop watching the media player
+     */
+    public Watch watch(MediaPlayer mediaPlayer, RecoveryAction recoveryAction) {
+        Watch watch = new Watch(this, mediaPlayer, recoveryAction != null ? recoveryAction : RecoveryActions.none());
+        mediaPlayer.events().addMediaPlayerEventListener(watch);
+        // The media player is usually already playing, in which case there will be no playing event to start the checks
+        watch.setPlaying(mediaPlayer.status().isPlaying());
+        added.add(watch);
+        return watch;
+    }
+
+    /**
+     * Add a component to be notified of hung media players.
+     *
+     * @param listener component to notify
+     */
+    public void addWatchdogListener(WatchdogListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Remove a component that was previously interested in hung media players.
+     *
+     * @param listener component to stop notifying
+     */
+    public void removeWatchdogListener(WatchdogListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Release this watchdog.
+     * <p>
+     * The watchdog thread is stopped. Existing watches should be cancelled by the application, otherwise they remain
+     * registered as media player event listeners.
+     */
+    public void release() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Advance the timing wheel by one tick, checking every watch that is due.
+     */
+    private void tick() {
+        long now = System.nanoTime();
+        Watch watch;
+        while ((watch = added.poll()) != null) {
+            schedule(watch, thresholdNanos);
+        }
+        int slot = (int) (tick % WHEEL_SIZE);
+        List<Watch> due = wheel.get(slot);
+        wheel.set(slot, new ArrayList<Watch>());
+        for (Watch each : due) {
+            if (each.isCancelled()) {
+                continue;
+            }
+            if (each.rounds > 0) {
+                each.rounds--;
+                wheel.get(slot).add(each);
+            }
+            else {
+                check(each, now);
+            }
+        }
+        tick++;
+    }
+
+    /**
+     * Check a watch that is due.
+     *
+     * @param watch watch to check
+     * @param now current time
+     */
+    private void check(Watch watch, long now) {
+        if (!watch.isPlaying()) {
+            schedule(watch, thresholdNanos);
+            return;
+        }
+        long stalled = now - watch.lastProgressNanos();
+        if (stalled < thresholdNanos) {
+            schedule(watch, thresholdNanos - stalled);
+            return;
+        }
+        long stalledMillis = TimeUnit.NANOSECONDS.toMillis(stalled);
+        for (WatchdogListener listener : listeners) {
+            try {
+                listener.playerHung(this, watch.mediaPlayer(), stalledMillis);
+            }
+            catch (RuntimeException e) {
+                // A failing listener must not prevent recovery
+            }
+        }
+        try {
+            watch.recover();
+        }
+        catch (RejectedExecutionException e) {
+            // The media player has been released, so there is nothing left to watch
+            watch.cancel();
+            return;
+        }
+        schedule(watch, thresholdNanos);
+    }
+
+    /**
+     * Put a watch on the timing wheel.
+     *
+     * @param watch watch
+     * @param delayNanos time until the watch is due, in nanoseconds
+     */
+    private void schedule(Watch watch, long delayNanos) {
+        long ticks = Math.max(1, (delayNanos + tickNanos - 1) / tickNanos);
+        watch.rounds = (int) ((ticks - 1) / WHEEL_SIZE);
+        wheel.get((int) ((tick + ticks) % WHEEL_SIZE)).add(watch);
+    }
+
+}
@@ -0,0 +1,44 @@
+/*
+ * This file is part of VLCJ.
+ *
+ * VLCJ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * VLCJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with VLCJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2019 Caprica Software Limited.
+ */
+
+package uk.co.caprica.vlcj.player.watchdog;
+
+import uk.co.caprica.vlcj.player.base.MediaPlayer;
+
+/**
+ * Specification for an action that recovers a media player that has stopped making progress.
+ * <p>
+ * Recovery actions are executed as a task submitted to the media player (see {@link MediaPlayer#submit(Runnable)}), so
+ * they may safely call back into LibVLC and they do not hold up the watchdog.
+ * <p>
+ * Standard actions are available from {@link RecoveryActions}. An application that needs to replace the media player
+ * entirely (e.g. create a new media player from its factory, move the media and video surface across and release the
+ * hung media player) can implement this interface itself.
+ */
+public interface RecoveryAction {
+
+    /**
+     * Recover a media player.
+     *
+     * @param watchdog watchdog that detected the problem
+     * @param mediaPlayer media player that stopped making progress
+     */
+    void recover(PlayerWatchdog watchdog, MediaPlayer mediaPlayer);
+
+}
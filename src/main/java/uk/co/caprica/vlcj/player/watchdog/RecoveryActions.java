@@ -0,0 +1,74 @@
+/*
+ * This file is part of VLCJ.
+ *
+ * VLCJ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * VLCJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with VLCJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2019 Caprica Software Limited.
+ */
+
+package uk.co.caprica.vlcj.player.watchdog;
+
+import uk.co.caprica.vlcj.player.base.MediaPlayer;
+
+/**
+ * Standard recovery actions.
+ */
+public final class RecoveryActions {
+
+    /**
+     * Action that does nothing, for when the watchdog listeners are only to be alerted.
+     */
+    private static final RecoveryAction NONE = new RecoveryAction() {
+        @Override
+        public void recover(PlayerWatchdog watchdog, MediaPlayer mediaPlayer) {
+        }
+    };
+
+    /**
+     * Action that stops the media player and then plays the current media again from the start.
+     */
+    private static final RecoveryAction RESTART_MEDIA = new RecoveryAction() {
+        @Override
+        public void recover(PlayerWatchdog watchdog, MediaPlayer mediaPlayer) {
+            mediaPlayer.controls().stop();
+            mediaPlayer.media().reset();
+            mediaPlayer.controls().play();
+        }
+    };
+
+    /**
+     * Prevent direct instantiation by others.
+     */
+    private RecoveryActions() {
+    }
+
+    /**
+     * Get an action that does nothing, so that the watchdog only alerts its listeners.
+     *
+     * @return recovery action
+     */
+    public static RecoveryAction none() {
+        return NONE;
+    }
+
+    /**
+     * Get an action that stops the media player and plays the current media again.
+     *
+     * @return recovery action
+     */
+    public static RecoveryAction restartMedia() {
+        return RESTART_MEDIA;
+    }
+
+}
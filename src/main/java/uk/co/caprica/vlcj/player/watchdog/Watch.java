@@ -0,0 +1,186 @@
+/*
+ * This file is part of VLCJ.
+ *
+ * VLCJ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * VLCJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with VLCJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2019 Caprica Software Limited.
+ */
+
+package uk.co.caprica.vlcj.player.watchdog;
+
+import uk.co.caprica.vlcj.player.MediaPlayerEventAdapter;
+import uk.co.caprica.vlcj.player.base.MediaPlayer;
+
+/**
+ * A media player being watched by a {@link PlayerWatchdog}.
+ * <p>
+ * Progress is recorded automatically from the media player time-changed events. Media players that render video via
+ * callbacks may also invoke {@link #progress()} when a frame is displayed.
+ */
+public final class Watch extends MediaPlayerEventAdapter {
+
+    private final PlayerWatchdog watchdog;
+
+    private final MediaPlayer mediaPlayer;
+
+    private final RecoveryAction recoveryAction;
+
+    /**
+     * Time the media player last made progress.
+     */
+    private volatile long lastProgressNanos = System.nanoTime();
+
+    /**
+     * Flag whether or not the media player is playing, progress is only expected while it is.
+     */
+    private volatile boolean playing;
+
+    /**
+     * Flag whether or not this watch has been cancelled.
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * Number of times the recovery action has been executed.
+     */
+    private volatile int recoveries;
+
+    /**
+     * Number of whole revolutions of the timing wheel remaining before this watch is due, owned by the watchdog thread.
+     */
+    int rounds;
+
+    Watch(PlayerWatchdog watchdog, MediaPlayer mediaPlayer, RecoveryAction recoveryAction) {
+        this.watchdog = watchdog;
+        this.mediaPlayer = mediaPlayer;
+        this.recoveryAction = recoveryAction;
+    }
+
+    /**
+     * Record that the media player made progress.
+     * <p>
+     * This is a single volatile write, so is cheap enough to invoke for every video frame.
+     */
+    public void progress() {
+        lastProgressNanos = System.nanoTime();
+    }
+
+    /**
+     * Stop watching the media player.
+     */
+    public void cancel() {
+        if (!cancelled) {
+            cancelled = true;
+            mediaPlayer.events().removeMediaPlayerEventListener(this);
+        }
+    }
+
+    /**
+     * Get the watchdog.
+     *
+     * @return watchdog
+     */
+    public PlayerWatchdog watchdog() {
+        return watchdog;
+    }
+
+    /**
+     * Get the watched media player.
+     *
+     * @return media player
+     */
+    public MediaPlayer mediaPlayer() {
+        return mediaPlayer;
+    }
+
+    /**
+     * Get the number of times the recovery action has been executed for this media player.
+     *
+     * @return recovery count
+     */
+    public int recoveries() {
+        return recoveries;
+    }
+
+    @Override
+    public void playing(MediaPlayer mediaPlayer) {
+        progress();
+        playing = true;
+    }
+
+    @Override
+    public void timeChanged(MediaPlayer mediaPlayer, long newTime) {
+        progress();
+    }
+
+    @Override
+    public void paused(MediaPlayer mediaPlayer) {
+        playing = false;
+    }
+
+    @Override
+    public void stopped(MediaPlayer mediaPlayer) {
+        playing = false;
+    }
+
+    @Override
+    public void finished(MediaPlayer mediaPlayer) {
+        playing = false;
+    }
+
+    @Override
+    public void error(MediaPlayer mediaPlayer) {
+        playing = false;
+    }
+
+    /**
+     * Set the initial play-back state, for a media player that may already be playing when it is first watched.
+     *
+     * @param playing <code>true</code> if the media player is playing; <code>false</code> otherwise
+     */
+    void setPlaying(boolean playing) {
+        progress();
+        this.playing = playing;
+    }
+
+    long lastProgressNanos() {
+        return lastProgressNanos;
+    }
+
+    boolean isPlaying() {
+        return playing;
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Submit the recovery action to the media player.
+     */
+    void recover() {
+        recoveries++;
+        // The recovery action gets a full threshold period to take effect before the media player is checked again
+        progress();
+        mediaPlayer.submit(new Runnable() {
+            @Override
+            public void run() {
+                if (!cancelled) {
+                    recoveryAction.recover(watchdog, mediaPlayer);
+                }
+            }
+        });
+    }
+
+}
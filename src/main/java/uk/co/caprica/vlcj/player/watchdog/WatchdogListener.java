@@ -0,0 +1,41 @@
+/*
+ * This file is part of VLCJ.
+ *
+ * VLCJ is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * VLCJ is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with VLCJ.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ * Copyright 2009-2019 Caprica Software Limited.
+ */
+
+package uk.co.caprica.vlcj.player.watchdog;
+
+import uk.co.caprica.vlcj.player.base.MediaPlayer;
+
+/**
+ * Specification for a component interested in media players that have stopped making progress.
+ */
+public interface WatchdogListener {
+
+    /**
+     * A media player stopped making progress.
+     * <p>
+     * This is invoked on the watchdog thread, before the recovery action is submitted, so it must return quickly and
+     * must not call back into LibVLC.
+     *
+     * @param watchdog watchdog that detected the problem
+     * @param mediaPlayer media player that stopped making progress
+     * @param stalledMillis time since the media player last made progress, in milliseconds
+     */
+    void playerHung(PlayerWatchdog watchdog, MediaPlayer mediaPlayer, long stalledMillis);
+
+}
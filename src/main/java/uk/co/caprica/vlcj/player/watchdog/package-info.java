@@ -0,0 +1,4 @@
+/**
+ * Provides a watchdog that detects and recovers media players that have stopped making progress.
+ */
+package uk.co.caprica.vlcj.player.watchdog;
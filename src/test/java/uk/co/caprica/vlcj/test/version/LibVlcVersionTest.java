@@ -20,9 +20,12 @@
 package uk.co.caprica.vlcj.test.version;
 
 import uk.co.caprica.vlcj.binding.LibVlc;
+import uk.co.caprica.vlcj.runtime.RuntimeUtil;
 import uk.co.caprica.vlcj.test.VlcjTest;
 import uk.co.caprica.vlcj.version.Version;
 
+import com.sun.jna.Native;
+
 /**
  * Simple test for versions.
  */
@@ -36,7 +39,7 @@ public class LibVlcVersionTest extends VlcjTest {
      * @param args command-line arguments
      */
     public static void main(String[] args) {
-        String version = LibVlc.INSTANCE.libvlc_get_version();
+        String version = Native.load(RuntimeUtil.getLibVlcLibraryName(), LibVlc.class).libvlc_get_version();
         test("2.1.0", version);
     }
 